@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.servlet;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/*
+ * Aggregates the content of a ServletInputStream with readAsync for readAllBytesAsync. The buffer is sized from the
+ * expected content length when it is known and otherwise grows by doubling, always with one byte of capacity beyond
+ * the limit so that the end of the stream can be read without growing the buffer and content over the limit is noticed
+ * as soon as it arrives. Reads that complete synchronously are handled in a loop rather than by recursion.
+ */
+final class AsyncReadAll {
+
+    private static final int INITIAL_CAPACITY = 8192;
+
+    private final ServletInputStream in;
+    private final long maxBytes;
+    private final CompletableFuture<ByteBuffer> future = new CompletableFuture<>();
+    private ByteBuffer buffer;
+
+    AsyncReadAll(ServletInputStream in, long maxBytes, long contentLength) {
+        this.in = in;
+        this.maxBytes = maxBytes;
+        long capacity = contentLength >= 0 ? contentLength + 1 : Math.min(INITIAL_CAPACITY, maxBytes + 1);
+        this.buffer = ByteBuffer.allocate((int) capacity);
+    }
+
+    CompletionStage<ByteBuffer> read() {
+        readNext();
+        return future;
+    }
+
+    private void readNext() {
+        try {
+            while (true) {
+                CompletableFuture<Integer> read = in.readAsync(buffer).toCompletableFuture();
+                if (!read.isDone()) {
+                    read.whenComplete((n, failure) -> {
+                        if (failure != null) {
+                            future.completeExceptionally(failure);
+                        } else if (onRead(n)) {
+                            readNext();
+                        }
+                    });
+                    return;
+                }
+                if (!onRead(read.join())) {
+                    return;
+                }
+            }
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+    }
+
+    /*
+     * Returns true if more content is to be read.
+     */
+    private boolean onRead(int n) {
+        if (n < 0) {
+            buffer.flip();
+            future.complete(buffer);
+            return false;
+        }
+        // readAsync leaves the position unchanged and sets the limit to the end of the content read
+        buffer.position(buffer.limit()).limit(buffer.capacity());
+        if (buffer.position() > maxBytes) {
+            future.completeExceptionally(new ContentTooLargeException(maxBytes));
+            return false;
+        }
+        if (!buffer.hasRemaining()) {
+            long capacity = Math.min((long) buffer.capacity() * 2, maxBytes + 1);
+            buffer = ByteBuffer.allocate((int) capacity).put(buffer.flip());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.servlet;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/*
+ * The ReadListener installed by ServletInputStream.readAsync. Reads are queued and each one is completed by a single
+ * read of the stream once it is ready, or with -1 once all data has been read. All access to the stream is serialized on
+ * this listener, and the stages are completed outside of the lock so that their dependents may read again.
+ */
+final class AsyncReadListener implements ReadListener {
+
+    private final ServletInputStream in;
+    private final Deque<Read> queue = new ArrayDeque<>();
+    // until the initial call to onDataAvailable, or after isReady() has returned false
+    private boolean awaitingCallback = true;
+    private boolean finished;
+    private Throwable failure;
+
+    AsyncReadListener(ServletInputStream in) {
+        this.in = in;
+    }
+
+    CompletionStage<Integer> read(ByteBuffer buffer) {
+        Read read = new Read(buffer);
+        List<Runnable> completions;
+        synchronized (this) {
+            if (failure != null) {
+                read.future.completeExceptionally(failure);
+                return read.future;
+            }
+            queue.add(read);
+            if (awaitingCallback && !finished) {
+                return read.future;
+            }
+            completions = process();
+        }
+        completions.forEach(Runnable::run);
+        return read.future;
+    }
+
+    @Override
+    public void onDataAvailable() {
+        List<Runnable> completions;
+        synchronized (this) {
+            awaitingCallback = false;
+            completions = process();
+        }
+        completions.forEach(Runnable::run);
+    }
+
+    @Override
+    public void onAllDataRead() {
+        List<Runnable> completions;
+        synchronized (this) {
+            awaitingCallback = false;
+            finished = true;
+            completions = process();
+        }
+        completions.forEach(Runnable::run);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        List<Runnable> completions = new ArrayList<>();
+        synchronized (this) {
+            fail(t, completions);
+        }
+        completions.forEach(Runnable::run);
+    }
+
+    private List<Runnable> process() {
+        List<Runnable> completions = new ArrayList<>();
+        try {
+            while (failure == null && !queue.isEmpty()) {
+                if (finished || in.isFinished()) {
+                    finished = true;
+                    complete(queue.poll(), -1, completions);
+                    continue;
+                }
+                if (!in.isReady()) {
+                    awaitingCallback = true;
+                    break;
+                }
+                Read read = queue.poll();
+                int n = in.read(read.buffer);
+                if (n < 0) {
+                    finished = true;
+                }
+                complete(read, n, completions);
+            }
+        } catch (Throwable t) {
+            fail(t, completions);
+        }
+        return completions;
+    }
+
+    private static void complete(Read read, int n, List<Runnable> completions) {
+        CompletableFuture<Integer> future = read.future;
+        completions.add(() -> future.complete(n));
+    }
+
+    private void fail(Throwable t, List<Runnable> completions) {
+        if (failure == null) {
+            failure = t;
+        }
+        for (Read read = queue.poll(); read != null; read = queue.poll()) {
+            CompletableFuture<Integer> future = read.future;
+            completions.add(() -> future.completeExceptionally(t));
+        }
+    }
+
+    private static final class Read {
+        private final ByteBuffer buffer;
+        private final CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        Read(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+}
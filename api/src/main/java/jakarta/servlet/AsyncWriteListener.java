@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.servlet;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/*
+ * The WriteListener installed by ServletOutputStream.writeAsync. Writes are queued and written while the stream is
+ * ready; a write completes once the stream is ready again after it, as until then the container may still be using the
+ * buffer. All access to the stream is serialized on this listener, and the stages are completed outside of the lock so
+ * that their dependents may write again.
+ */
+final class AsyncWriteListener implements WriteListener {
+
+    private final ServletOutputStream out;
+    private final Deque<Write> queue = new ArrayDeque<>();
+    private Write inFlight;
+    // until the initial call to onWritePossible, or after isReady() has returned false
+    private boolean awaitingCallback = true;
+    private Throwable failure;
+
+    AsyncWriteListener(ServletOutputStream out) {
+        this.out = out;
+    }
+
+    CompletionStage<Void> write(ByteBuffer buffer) {
+        Write write = new Write(buffer);
+        List<Runnable> completions;
+        synchronized (this) {
+            if (failure != null) {
+                write.future.completeExceptionally(failure);
+                return write.future;
+            }
+            queue.add(write);
+            if (awaitingCallback) {
+                return write.future;
+            }
+            completions = process();
+        }
+        completions.forEach(Runnable::run);
+        return write.future;
+    }
+
+    @Override
+    public void onWritePossible() {
+        List<Runnable> completions;
+        synchronized (this) {
+            awaitingCallback = false;
+            completions = process();
+        }
+        completions.forEach(Runnable::run);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        List<Runnable> completions = new ArrayList<>();
+        synchronized (this) {
+            fail(t, completions);
+        }
+        completions.forEach(Runnable::run);
+    }
+
+    private List<Runnable> process() {
+        List<Runnable> completions = new ArrayList<>();
+        try {
+            while (failure == null) {
+                if (!out.isReady()) {
+                    awaitingCallback = true;
+                    break;
+                }
+                if (inFlight != null) {
+                    CompletableFuture<Void> future = inFlight.future;
+                    completions.add(() -> future.complete(null));
+                    inFlight = null;
+                }
+                Write write = queue.poll();
+                if (write == null) {
+                    break;
+                }
+                inFlight = write;
+                out.write(write.buffer);
+            }
+        } catch (Throwable t) {
+            fail(t, completions);
+        }
+        return completions;
+    }
+
+    private void fail(Throwable t, List<Runnable> completions) {
+        if (failure == null) {
+            failure = t;
+        }
+        if (inFlight != null) {
+            CompletableFuture<Void> future = inFlight.future;
+            completions.add(() -> future.completeExceptionally(t));
+            inFlight = null;
+        }
+        for (Write write = queue.poll(); write != null; write = queue.poll()) {
+            CompletableFuture<Void> future = write.future;
+            completions.add(() -> future.completeExceptionally(t));
+        }
+    }
+
+    private static final class Write {
+        private final ByteBuffer buffer;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Write(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+}
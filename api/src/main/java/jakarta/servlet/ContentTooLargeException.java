@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.servlet;
+
+import java.io.IOException;
+
+/**
+ * Signals that the content of a request is larger than the limit accepted by the application, for example by
+ * {@link ServletInputStream#readAllBytesAsync(long, long)}. A servlet may respond to it with the status code 413
+ * (Content Too Large), as {@link jakarta.servlet.http.HttpServlet} does for the stages returned by its asynchronous
+ * handlers.
+ *
+ * @since Servlet 6.2
+ */
+public class ContentTooLargeException extends IOException {
+
+    private static final long serialVersionUID = 2917561432738712318L;
+
+    private final long maxBytes;
+
+    /**
+     * Constructs a new exception for the given limit.
+     *
+     * @param maxBytes the maximum number of bytes of content that was accepted
+     */
+    public ContentTooLargeException(long maxBytes) {
+        super("Content larger than " + maxBytes + " bytes");
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the maximum number of bytes of content that was accepted.
+     *
+     * @return the maximum number of bytes of content that was accepted
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.servlet;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * The Flow.Publisher returned by ServletInputStream.asPublisher. Demand is turned into calls to readAsync, one at a
+ * time, so the stream is only read when the subscriber has asked for data and the ReadListener callbacks pace the
+ * reads. A drain loop guarded by a work counter serializes the signals and avoids recursion when reads complete
+ * synchronously.
+ */
+final class ReadPublisher implements Flow.Publisher<ByteBuffer> {
+
+    private final ServletInputStream in;
+    private final int bufferSize;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    ReadPublisher(ServletInputStream in, int bufferSize) {
+        this.in = in;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("Already subscribed"));
+            return;
+        }
+        ReadSubscription subscription = new ReadSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class ReadSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger work = new AtomicInteger();
+        private volatile boolean reading;
+        private volatile boolean done;
+        private volatile Throwable error;
+
+        ReadSubscription(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (done) {
+                return;
+            }
+            if (n <= 0) {
+                // signalled by drain, once any onNext in progress has returned
+                if (error == null) {
+                    error = new IllegalArgumentException("Non-positive request: " + n);
+                }
+                drain();
+                return;
+            }
+            long current;
+            long next;
+            do {
+                current = demand.get();
+                next = current + n < 0 ? Long.MAX_VALUE : current + n;
+            } while (!demand.compareAndSet(current, next));
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+        }
+
+        private void drain() {
+            if (work.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            while (true) {
+                Throwable failure = error;
+                if (!reading && !done && failure != null) {
+                    done = true;
+                    subscriber.onError(failure);
+                } else if (!reading && !done && demand.get() > 0) {
+                    reading = true;
+                    ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+                    CompletionStage<Integer> read;
+                    try {
+                        read = in.readAsync(buffer);
+                    } catch (Throwable t) {
+                        read = null;
+                        onRead(buffer, -1, t);
+                    }
+                    if (read != null) {
+                        read.whenComplete((n, t) -> onRead(buffer, n == null ? -1 : n, t));
+                    }
+                }
+                missed = work.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        private void onRead(ByteBuffer buffer, int n, Throwable failure) {
+            if (!done) {
+                if (failure != null) {
+                    done = true;
+                    subscriber.onError(failure);
+                } else if (n < 0) {
+                    done = true;
+                    subscriber.onComplete();
+                } else if (n > 0) {
+                    demand.decrementAndGet();
+                    subscriber.onNext(buffer);
+                }
+            }
+            reading = false;
+            drain();
+        }
+    }
+}
@@ -18,10 +18,19 @@
 
 package jakarta.servlet;
 
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
 
 /**
  *
@@ -45,6 +54,15 @@ import java.util.Objects;
  */
 public abstract class ServletInputStream extends InputStream {
 
+    // The size of the buffer reused to read into buffers without a backing array
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    // The largest content read by readAllBytesAsync, leaving room for the extra byte and the VM's array header
+    private static final int MAX_BUFFER_SIZE = Integer.MAX_VALUE - 16;
+
+    private byte[] readBuffer;
+    private volatile AsyncReadListener asyncReadListener;
+
     /**
      * Does nothing, because this is an abstract class.
      *
@@ -70,7 +88,9 @@ public abstract class ServletInputStream extends InputStream {
      * When the method returns, and if data has been read, the buffer's position will be unchanged from the value when
      * passed to this method and the limit will be the position incremented by the number of bytes read.
      * <p>
-     * Subclasses are strongly encouraged to override this method and provide a more efficient implementation.
+     * Subclasses are strongly encouraged to override this method and provide a more efficient implementation. The
+     * default implementation reads directly into the backing array of a heap buffer, and through a bounce buffer of
+     * bounded size, reused for the life of the input stream, for direct buffers.
      *
      * @param buffer The buffer into which the data is read.
      *
@@ -85,6 +105,8 @@ public abstract class ServletInputStream extends InputStream {
      *
      * @exception NullPointerException If buffer is null.
      *
+     * @exception ReadOnlyBufferException If buffer is read only.
+     *
      * @since Servlet 6.1
      */
     public int read(ByteBuffer buffer) throws IOException {
@@ -98,16 +120,29 @@ public abstract class ServletInputStream extends InputStream {
             return 0;
         }
 
-        byte[] b = new byte[buffer.remaining()];
-
-        int result = read(b);
-        if (result == -1) {
-            return -1;
+        if (buffer.isReadOnly()) {
+            throw new ReadOnlyBufferException();
         }
 
         int position = buffer.position();
-
-        buffer.put(b, 0, result);
+        int result;
+        if (buffer.hasArray()) {
+            result = read(buffer.array(), buffer.arrayOffset() + position, buffer.remaining());
+            if (result == -1) {
+                return -1;
+            }
+        } else {
+            byte[] b = readBuffer;
+            if (b == null) {
+                b = new byte[READ_BUFFER_SIZE];
+                readBuffer = b;
+            }
+            result = read(b, 0, Math.min(buffer.remaining(), b.length));
+            if (result == -1) {
+                return -1;
+            }
+            buffer.put(b, 0, result);
+        }
 
         buffer.position(position);
         buffer.limit(position + result);
@@ -115,6 +150,194 @@ public abstract class ServletInputStream extends InputStream {
         return result;
     }
 
+    /**
+     * Transfers the remaining content of the input stream to the given channel, blocking until the end of the stream has
+     * been reached. The channel is not closed.
+     * <p>
+     * This method may only be used when the input stream is in blocking mode.
+     * <p>
+     * Containers are strongly encouraged to override this method and move the data from their own buffers into the
+     * channel without copying it, for example with {@link FileChannel#transferFrom(java.nio.channels.ReadableByteChannel,
+     * long, long)} when the channel is a file. The default implementation reads into the buffer reused by
+     * {@link #read(ByteBuffer)}, which is then written to the channel.
+     *
+     * @param channel The channel to which the content is transferred.
+     *
+     * @return The number of bytes transferred.
+     *
+     * @exception IllegalStateException If this method is called when the input stream is in non-blocking mode.
+     *
+     * @exception IOException If the input stream has been closed, if the channel cannot be written or if some other I/O
+     * error occurs.
+     *
+     * @exception NullPointerException If channel is null.
+     *
+     * @since Servlet 6.2
+     */
+    public long transferTo(WritableByteChannel channel) throws IOException {
+        Objects.requireNonNull(channel);
+        byte[] b = readBuffer;
+        if (b == null) {
+            b = new byte[READ_BUFFER_SIZE];
+            readBuffer = b;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(b);
+        long transferred = 0;
+        int n;
+        while ((n = read(b, 0, b.length)) != -1) {
+            buffer.clear().limit(n);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            transferred += n;
+        }
+        return transferred;
+    }
+
+    /**
+     * Transfers the remaining content of the input stream to the given file, blocking until the end of the stream has
+     * been reached. The file is created if it does not exist, or truncated if it does.
+     * <p>
+     * This method may only be used when the input stream is in blocking mode. The default implementation opens a
+     * {@link FileChannel} on the file and calls {@link #transferTo(WritableByteChannel)}.
+     *
+     * @param file The file to which the content is transferred.
+     *
+     * @return The number of bytes transferred.
+     *
+     * @exception IllegalStateException If this method is called when the input stream is in non-blocking mode.
+     *
+     * @exception IOException If the input stream has been closed, if the file cannot be written or if some other I/O error
+     * occurs.
+     *
+     * @exception NullPointerException If file is null.
+     *
+     * @since Servlet 6.2
+     */
+    public long transferTo(Path file) throws IOException {
+        Objects.requireNonNull(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            return transferTo(channel);
+        }
+    }
+
+    /**
+     * Reads from the input stream into the given buffer without blocking, returning a stage that completes with the number
+     * of bytes read.
+     * <p>
+     * The first call to this method puts the input stream into non-blocking mode by setting a {@link ReadListener} with
+     * {@link #setReadListener(ReadListener)}, so it may only be called when the associated request has been upgraded or
+     * put into asynchronous mode, and no other {@link ReadListener} may be set. This method must not be mixed with calls to
+     * the other methods that read data.
+     * <p>
+     * Reads are performed in the order in which this method is called, so this method may be called again before the
+     * previous stage has completed. Each read is performed with {@link #read(ByteBuffer)} once {@link #isReady()} allows
+     * it, and the stage completes with its result: the number of bytes read, which is only {@code 0} if the buffer has no
+     * space remaining, or {@code -1} if the end of the stream has been reached. Until the stage completes, the buffer may
+     * not be used. When it completes, the buffer's position and limit are as described for {@link #read(ByteBuffer)}.
+     * <p>
+     * If an error occurs, the stage and the stages of all the pending reads complete exceptionally, as do the stages
+     * returned by subsequent calls.
+     *
+     * @param buffer The buffer into which the data is read.
+     *
+     * @return A stage that completes with the number of bytes read or {@code -1} if the end of the stream has been reached.
+     *
+     * @exception IllegalStateException If this is the first call to this method and the associated request is neither
+     * upgraded nor the async started, or a {@link ReadListener} has already been set.
+     *
+     * @exception NullPointerException If buffer is null.
+     *
+     * @since Servlet 6.2
+     */
+    public CompletionStage<Integer> readAsync(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer);
+        AsyncReadListener listener = asyncReadListener;
+        if (listener == null) {
+            // the listener may only be set once, so concurrent first calls are serialized
+            synchronized (this) {
+                listener = asyncReadListener;
+                if (listener == null) {
+                    listener = new AsyncReadListener(this);
+                    setReadListener(listener);
+                    asyncReadListener = listener;
+                }
+            }
+        }
+        return listener.read(buffer);
+    }
+
+    /**
+     * Reads the remaining content of the input stream without blocking, returning a stage that completes with a buffer
+     * holding all of the content once the end of the stream has been reached.
+     * <p>
+     * The content is read with {@link #readAsync(ByteBuffer)}, so the same restrictions apply: this method may only be
+     * called when the associated request has been upgraded or put into asynchronous mode, and must not be mixed with other
+     * reads. The buffer into which the content is read is sized from the expected content length when it is known, so
+     * that it is only grown if the content is longer than expected. The returned buffer is ready to be read: its position
+     * is zero and its limit the length of the content.
+     * <p>
+     * If the content is larger than {@code maxBytes}, the stage completes exceptionally with a
+     * {@link ContentTooLargeException}: immediately, without reading any data, if the expected content length is already
+     * larger, or else as soon as the limit has been exceeded. The stage also completes exceptionally if an error occurs
+     * while reading.
+     *
+     * @param maxBytes The maximum number of bytes of content accepted. Values larger than the largest buffer that can be
+     * allocated, which is a little less than {@link Integer#MAX_VALUE}, are reduced to it.
+     *
+     * @param contentLength The expected length of the content, usually {@link ServletRequest#getContentLengthLong()}, or
+     * {@code -1} if it is not known.
+     *
+     * @return A stage that completes with the content of the input stream.
+     *
+     * @exception IllegalArgumentException If maxBytes is negative.
+     *
+     * @exception IllegalStateException If the associated request is neither upgraded nor the async started, or a
+     * {@link ReadListener} has already been set.
+     *
+     * @since Servlet 6.2
+     */
+    public CompletionStage<ByteBuffer> readAllBytesAsync(long maxBytes, long contentLength) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes: " + maxBytes);
+        }
+        maxBytes = Math.min(maxBytes, MAX_BUFFER_SIZE);
+        if (contentLength > maxBytes) {
+            return CompletableFuture.failedFuture(new ContentTooLargeException(maxBytes));
+        }
+        return new AsyncReadAll(this, maxBytes, contentLength).read();
+    }
+
+    /**
+     * Returns a {@link Flow.Publisher} of the content of the input stream, read without blocking.
+     * <p>
+     * The input stream is only read while the subscriber has outstanding demand: each requested buffer is read with
+     * {@link #readAsync(ByteBuffer)}, so the pace of the reads follows both the demand of the subscriber and the
+     * {@link ReadListener} call backs of the container. Each buffer passed to {@link Flow.Subscriber#onNext(Object)} is
+     * newly allocated with the given capacity, contains at least one byte and is owned by the subscriber. The subscriber
+     * is completed once the end of the stream has been reached, and receives any error that occurs while reading.
+     * Cancelling the subscription stops any further reads.
+     * <p>
+     * The publisher accepts a single subscriber, any other subscriber receives an {@link IllegalStateException}. As it is
+     * based on {@link #readAsync(ByteBuffer)}, the same restrictions apply: it may only be subscribed to when the
+     * associated request has been upgraded or put into asynchronous mode, and must not be mixed with other reads.
+     *
+     * @param bufferSize The capacity of the buffers passed to the subscriber.
+     *
+     * @return A publisher of the content of the input stream.
+     *
+     * @exception IllegalArgumentException If bufferSize is not positive.
+     *
+     * @since Servlet 6.2
+     */
+    public Flow.Publisher<ByteBuffer> asPublisher(int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("bufferSize: " + bufferSize);
+        }
+        return new ReadPublisher(this, bufferSize);
+    }
+
     /**
      * Reads the input stream, one line at a time. Starting at an offset, reads bytes into an array, until it reads a
      * certain number of bytes or reaches a newline character, which it reads into the array as well.
@@ -122,6 +345,10 @@ public abstract class ServletInputStream extends InputStream {
      * This method returns {@code -1} if it reaches the end of the input stream before reading the maximum number of bytes.
      * <p>
      * This method may only be used when the input stream is in blocking mode.
+     * <p>
+     * If the input stream supports {@link #mark(int)} and {@link #reset()}, the default implementation reads the line in
+     * bulk and uses them to return the bytes read beyond the end of the line to the input stream. Otherwise, it reads one
+     * byte at a time and subclasses are encouraged to override it with a bulk implementation.
      *
      * @param b an array of bytes into which data is read
      *
@@ -140,6 +367,9 @@ public abstract class ServletInputStream extends InputStream {
         if (len <= 0) {
             return 0;
         }
+        if (markSupported()) {
+            return readLineBulk(b, off, len);
+        }
         int count = 0, c;
 
         while ((c = read()) != -1) {
@@ -152,6 +382,54 @@ public abstract class ServletInputStream extends InputStream {
         return count > 0 ? count : -1;
     }
 
+    /*
+     * Reads a line with bulk reads into the buffer reused by read(ByteBuffer), relying on mark and reset to return the
+     * bytes read beyond the end of the line to the input stream. Only the bytes of the line are copied into the array.
+     */
+    private int readLineBulk(byte[] b, int off, int len) throws IOException {
+        byte[] buffer = readBuffer;
+        if (buffer == null) {
+            buffer = new byte[READ_BUFFER_SIZE];
+            readBuffer = buffer;
+        }
+        int count = 0;
+        while (count < len) {
+            int max = Math.min(len - count, buffer.length);
+            mark(max);
+            int n = read(buffer, 0, max);
+            if (n < 0) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                if (buffer[i] == '\n') {
+                    int line = i + 1;
+                    System.arraycopy(buffer, 0, b, off + count, line);
+                    if (line < n) {
+                        reset();
+                        skipFully(line);
+                    }
+                    return count + line;
+                }
+            }
+            System.arraycopy(buffer, 0, b, off + count, n);
+            count += n;
+        }
+        return count > 0 ? count : -1;
+    }
+
+    private void skipFully(long n) throws IOException {
+        while (n > 0) {
+            long skipped = skip(n);
+            if (skipped > 0) {
+                n -= skipped;
+            } else if (read() != -1) {
+                n--;
+            } else {
+                throw new EOFException();
+            }
+        }
+    }
+
     /**
      * Returns true when all the data from the stream has been read else it returns false.
      *
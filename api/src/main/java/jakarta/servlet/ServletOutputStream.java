@@ -22,9 +22,18 @@ import java.io.CharConversionException;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
 
 /**
  * Provides an output stream for sending binary data to the client. A <code>ServletOutputStream</code> object is
@@ -45,6 +54,21 @@ public abstract class ServletOutputStream extends OutputStream {
     private static final String LSTRING_FILE = "jakarta.servlet.LocalStrings";
     private static final ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
 
+    private static final String TRUE = lStrings.getString("value.true");
+    private static final String FALSE = lStrings.getString("value.false");
+    private static final byte[] CRLF = { '\r', '\n' };
+
+    // The largest chunk of a file read by transferFrom
+    private static final int WRITE_CHUNK_SIZE = 8192;
+
+    // The size of the buffer reused by the print methods, at least the length of the longest long value and a CRLF.
+    // Longer values are encoded into an array of their own, so that each print method makes a single write.
+    private static final int PRINT_BUFFER_SIZE = 512;
+
+    private byte[] printBuffer;
+    private CharsetEncoder printEncoder;
+    private volatile AsyncWriteListener asyncWriteListener;
+
     /**
      *
      * Does nothing, because this is an abstract class.
@@ -72,7 +96,11 @@ public abstract class ServletOutputStream extends OutputStream {
      * remaining data in the buffer has been written. When the method returns, and if data has been written, the buffer's
      * limit will be unchanged from the value when passed to this method and the position will be the same as the limit.
      * <p>
-     * Subclasses are strongly encouraged to override this method and provide a more efficient implementation.
+     * Subclasses are strongly encouraged to override this method and provide a more efficient implementation that writes
+     * both heap and direct buffers without copying them. The default implementation writes the backing array of a heap
+     * buffer with a single call to {@link #write(byte[], int, int)}. Other buffers are copied into an array of their
+     * remaining size, which is written with a single call as well, so that the whole buffer has been written once
+     * {@link #isReady()} returns true again.
      *
      * @param buffer The buffer from which the data is written.
      *
@@ -93,15 +121,245 @@ public abstract class ServletOutputStream extends OutputStream {
             throw new IllegalStateException();
         }
 
-        if (buffer.remaining() == 0) {
+        writeBuffer(buffer);
+    }
+
+    /**
+     * Writes the remaining data of a sequence of buffers to the output stream, in order, as if by calling
+     * {@link #write(ByteBuffer)} for each of them. This allows containers, for example, to write pre-encoded headers and a
+     * body without first copying them into a single buffer.
+     * <p>
+     * If the output steam is in non-blocking mode, before each invocation of this method {@link #isReady()} must be called
+     * and must return {@code true} or the {@link WriteListener#onWritePossible()} call back must indicate that data may be
+     * written else an {@link IllegalStateException} must be thrown. In non-blocking mode, neither the position, limit nor
+     * content of any of the buffers may be modified until a subsequent call to {@link #isReady()} returns true or the
+     * {@link WriteListener#onWritePossible()} call back indicates data may be written again.
+     * <p>
+     * When the method returns, and if data has been written, the limit of each buffer will be unchanged from the value when
+     * passed to this method and its position will be the same as its limit.
+     * <p>
+     * Subclasses are encouraged to override this method and provide a gathering implementation. The default
+     * implementation writes a single buffer with data remaining as {@link #write(ByteBuffer)} does. Several buffers are
+     * copied into an array of their total remaining size, which is written with a single call to
+     * {@link #write(byte[], int, int)}, so that all the buffers have been written once {@link #isReady()} returns true
+     * again.
+     *
+     * @param buffers The buffers from which the data is written.
+     *
+     * @exception IllegalStateException If the output stream is in non-blocking mode and this method is called without first
+     * calling {@link #isReady()} and that method has returned {@code true} or {@link WriteListener#onWritePossible()} has
+     * not signalled that data may be written.
+     *
+     * @exception IOException If the output stream has been closed or if some other I/O error occurs.
+     *
+     * @exception NullPointerException If buffers or any of its elements is null.
+     *
+     * @since Servlet 6.2
+     */
+    public void write(ByteBuffer[] buffers) throws IOException {
+        Objects.requireNonNull(buffers);
+        for (ByteBuffer buffer : buffers) {
+            Objects.requireNonNull(buffer);
+        }
+
+        if (!isReady()) {
+            throw new IllegalStateException();
+        }
+
+        ByteBuffer single = null;
+        long total = 0;
+        for (ByteBuffer buffer : buffers) {
+            if (buffer.hasRemaining()) {
+                single = total == 0 ? buffer : null;
+                total += buffer.remaining();
+            }
+        }
+        if (total == 0) {
+            return;
+        }
+        if (single != null) {
+            writeBuffer(single);
             return;
         }
 
-        byte[] b = new byte[buffer.remaining()];
+        // in non-blocking mode only one write may be made before isReady() returns true again
+        byte[] b = new byte[Math.toIntExact(total)];
+        int off = 0;
+        for (ByteBuffer buffer : buffers) {
+            int len = buffer.remaining();
+            buffer.get(b, off, len);
+            off += len;
+        }
+        write(b, 0, b.length);
+    }
 
-        buffer.get(b);
+    /**
+     * Transfers bytes from a file to the output stream, starting at the given position in the file. The position of the
+     * channel is not modified. Fewer than the requested number of bytes are transferred if the end of the file is reached
+     * or, in non-blocking mode, if the output stream is no longer ready.
+     * <p>
+     * If the output steam is in non-blocking mode, before each invocation of this method {@link #isReady()} must be called
+     * and must return {@code true} or the {@link WriteListener#onWritePossible()} call back must indicate that data may be
+     * written else an {@link IllegalStateException} must be thrown. In non-blocking mode, this method transfers bytes until
+     * {@link #isReady()} returns {@code false}, and the transfer may be resumed from the returned count once
+     * {@link WriteListener#onWritePossible()} is called. In blocking mode, this method blocks until all the bytes have been
+     * transferred or the end of the file has been reached.
+     * <p>
+     * Containers are strongly encouraged to override this method and send the file directly from the file system, for
+     * example with {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}. The default
+     * implementation reads the file into a buffer of at most 8192 bytes that is written with
+     * {@link #write(byte[], int, int)}.
+     *
+     * @param channel The file from which the bytes are transferred.
+     *
+     * @param position The position in the file of the first byte to transfer.
+     *
+     * @param count The maximum number of bytes to transfer.
+     *
+     * @return The number of bytes transferred, which may be zero.
+     *
+     * @exception IllegalArgumentException If position or count is negative.
+     *
+     * @exception IllegalStateException If the output stream is in non-blocking mode and this method is called without first
+     * calling {@link #isReady()} and that method has returned {@code true} or {@link WriteListener#onWritePossible()} has
+     * not signalled that data may be written.
+     *
+     * @exception IOException If the output stream has been closed, if the file cannot be read or if some other I/O error
+     * occurs.
+     *
+     * @exception NullPointerException If channel is null.
+     *
+     * @since Servlet 6.2
+     */
+    public long transferFrom(FileChannel channel, long position, long count) throws IOException {
+        Objects.requireNonNull(channel);
+        if (position < 0 || count < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        if (!isReady()) {
+            throw new IllegalStateException();
+        }
 
-        write(b);
+        long transferred = 0;
+        ByteBuffer chunk = null;
+        while (transferred < count) {
+            // in non-blocking mode the chunk is owned by the container until isReady() returns true
+            if (chunk == null) {
+                chunk = ByteBuffer.allocate((int) Math.min(count, WRITE_CHUNK_SIZE));
+            }
+            chunk.clear();
+            chunk.limit((int) Math.min(chunk.capacity(), count - transferred));
+            int read = channel.read(chunk, position + transferred);
+            if (read < 0) {
+                break;
+            }
+            chunk.flip();
+            writeBuffer(chunk);
+            transferred += read;
+            if (transferred < count && !isReady()) {
+                break;
+            }
+        }
+        return transferred;
+    }
+
+    /**
+     * Writes from the given buffer to the output stream without blocking, returning a stage that completes once the data
+     * has been written.
+     * <p>
+     * The first call to this method puts the output stream into non-blocking mode by setting a {@link WriteListener} with
+     * {@link #setWriteListener(WriteListener)}, so it may only be called when the associated request has been upgraded or
+     * put into asynchronous mode, and no other {@link WriteListener} may be set. This method must not be mixed with calls to
+     * the other methods that write data.
+     * <p>
+     * Writes are performed in the order in which this method is called, whenever {@link #isReady()} allows it, so this
+     * method may be called again before the previous stage has completed. The stage completes once the data has been
+     * written and the output stream is ready for further writes; until then, neither the position, limit nor content of
+     * the buffer may be modified. When the stage completes normally, the buffer's limit will be unchanged from the value
+     * when passed to this method and the position will be the same as the limit.
+     * <p>
+     * If an error occurs, the stage and the stages of all the pending writes complete exceptionally, as do the stages
+     * returned by subsequent calls.
+     *
+     * @param buffer The buffer from which the data is written.
+     *
+     * @return A stage that completes when the data has been written.
+     *
+     * @exception IllegalStateException If this is the first call to this method and the associated request is neither
+     * upgraded nor the async started, or a {@link WriteListener} has already been set.
+     *
+     * @exception NullPointerException If buffer is null.
+     *
+     * @since Servlet 6.2
+     */
+    public CompletionStage<Void> writeAsync(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer);
+        AsyncWriteListener listener = asyncWriteListener;
+        if (listener == null) {
+            // the listener may only be set once, so concurrent first calls are serialized
+            synchronized (this) {
+                listener = asyncWriteListener;
+                if (listener == null) {
+                    listener = new AsyncWriteListener(this);
+                    setWriteListener(listener);
+                    asyncWriteListener = listener;
+                }
+            }
+        }
+        return listener.write(buffer);
+    }
+
+    /**
+     * Subscribes the output stream to the given {@link Flow.Publisher} and writes each published buffer without blocking,
+     * returning a stage that completes once all the published data has been written.
+     * <p>
+     * The output stream requests a single buffer at a time and only requests the next one once the previous one has
+     * been written with {@link #writeAsync(ByteBuffer)} and the output stream is ready again, so the demand signalled to
+     * the publisher follows the {@link WriteListener} call backs of the container. The publisher relinquishes each buffer
+     * passed to the output stream, which must not be modified afterwards.
+     * <p>
+     * The stage completes normally once the publisher has completed and the last buffer has been written. If the
+     * publisher signals an error, the stage completes exceptionally with that error. If a write fails, the subscription
+     * is cancelled and the stage completes exceptionally. As it is based on {@link #writeAsync(ByteBuffer)}, the same
+     * restrictions apply: this method may only be used when the associated request has been upgraded or put into
+     * asynchronous mode, and must not be mixed with other writes.
+     *
+     * @param publisher The publisher of the data to write.
+     *
+     * @return A stage that completes once the published data has been written.
+     *
+     * @exception NullPointerException If publisher is null.
+     *
+     * @since Servlet 6.2
+     */
+    public CompletionStage<Void> writeFrom(Flow.Publisher<? extends ByteBuffer> publisher) {
+        Objects.requireNonNull(publisher);
+        WriteSubscriber subscriber = new WriteSubscriber(this);
+        publisher.subscribe(subscriber);
+        return subscriber.completion();
+    }
+
+    /*
+     * Writes the remaining content of a buffer with a single call to write(byte[], int, int), without copying heap
+     * buffers. In non-blocking mode only one write may be made before isReady() returns true again, so direct and read
+     * only buffers are copied whole rather than in chunks.
+     */
+    private void writeBuffer(ByteBuffer buffer) throws IOException {
+        int remaining = buffer.remaining();
+        if (remaining == 0) {
+            return;
+        }
+
+        if (buffer.hasArray()) {
+            write(buffer.array(), buffer.arrayOffset() + buffer.position(), remaining);
+            buffer.position(buffer.limit());
+            return;
+        }
+
+        byte[] b = new byte[remaining];
+        buffer.get(b);
+        write(b, 0, remaining);
     }
 
     /**
@@ -117,26 +375,62 @@ public abstract class ServletOutputStream extends OutputStream {
         if (s == null)
             s = "null";
         int len = s.length();
-        byte[] out = new byte[len];
         for (int i = 0; i < len; i++) {
-            char c = s.charAt(i);
-
             //
             // XXX NOTE: This is clearly incorrect for many strings,
             // but is the only consistent approach within the current
             // servlet framework. It must suffice until servlet output
             // streams properly encode their output.
             //
-            if ((c & 0xff00) != 0) { // high order byte must be zero
-                String errMsg = lStrings.getString("err.not_iso8859_1");
-                Object[] errArgs = new Object[1];
-                errArgs[0] = Character.valueOf(c);
-                errMsg = MessageFormat.format(errMsg, errArgs);
-                throw new CharConversionException(errMsg);
-            }
-            out[i] = (byte) (0xff & c);
+            checkISO8859_1(s.charAt(i));
+        }
+        printSingleByte(s, 0xff, false);
+    }
+
+    /**
+     * Writes a <code>CharSequence</code> to the client encoded with the given character set, without a carriage return-line
+     * feed (CRLF) character at the end. Malformed input and characters that cannot be mapped to the character set are
+     * replaced by the replacement bytes of the character set.
+     *
+     * <p>
+     * Unlike {@link #print(String)}, this method supports any character. The characters are encoded into a buffer that is
+     * reused by subsequent calls, without intermediate <code>String</code> or <code>byte[]</code> allocations for the
+     * ISO-8859-1, US-ASCII and UTF-8 character sets unless the encoded characters exceed the buffer, and are written with a
+     * single write.
+     *
+     * @param cs the <code>CharSequence</code> to send to the client, or <code>null</code> to send <code>"null"</code>
+     *
+     * @param charset the character set used to encode the characters
+     *
+     * @exception IOException if an input or output exception occurred
+     *
+     * @exception NullPointerException if charset is null
+     *
+     * @since Servlet 6.2
+     */
+    public void print(CharSequence cs, Charset charset) throws IOException {
+        Objects.requireNonNull(charset);
+        if (cs == null)
+            cs = "null";
+        if (cs.length() == 0)
+            return;
+
+        print(cs, charset, false);
+    }
+
+    /*
+     * Writes the characters, followed by a CRLF if newline is true, with a single write.
+     */
+    private void print(CharSequence cs, Charset charset, boolean newline) throws IOException {
+        if (charset.equals(StandardCharsets.ISO_8859_1)) {
+            printSingleByte(cs, 0xff, newline);
+        } else if (charset.equals(StandardCharsets.US_ASCII)) {
+            printSingleByte(cs, 0x7f, newline);
+        } else if (charset.equals(StandardCharsets.UTF_8)) {
+            printUTF8(cs, newline);
+        } else {
+            printEncoded(cs, charset, newline);
         }
-        write(out, 0, len);
     }
 
     /**
@@ -148,7 +442,7 @@ public abstract class ServletOutputStream extends OutputStream {
      *
      */
     public void print(boolean b) throws IOException {
-        print(lStrings.getString(b ? "value.true" : "value.false"));
+        print(b ? TRUE : FALSE);
     }
 
     /**
@@ -160,7 +454,8 @@ public abstract class ServletOutputStream extends OutputStream {
      *
      */
     public void print(char c) throws IOException {
-        print(String.valueOf(c));
+        checkISO8859_1(c);
+        write(c);
     }
 
     /**
@@ -173,7 +468,7 @@ public abstract class ServletOutputStream extends OutputStream {
      *
      */
     public void print(int i) throws IOException {
-        print(String.valueOf(i));
+        print((long) i);
     }
 
     /**
@@ -186,7 +481,30 @@ public abstract class ServletOutputStream extends OutputStream {
      *
      */
     public void print(long l) throws IOException {
-        print(String.valueOf(l));
+        printLong(l, false);
+    }
+
+    /*
+     * Writes a long value, followed by a CRLF if newline is true, with a single write.
+     */
+    private void printLong(long l, boolean newline) throws IOException {
+        // the digits are written backwards from the end of the longest value, "-9223372036854775808"
+        byte[] buf = printBuffer(22);
+        int pos = 20;
+        // work with a negative value, so that Long.MIN_VALUE needs no special case
+        long v = l < 0 ? l : -l;
+        do {
+            buf[--pos] = (byte) ('0' - (v % 10));
+            v /= 10;
+        } while (v != 0);
+        if (l < 0)
+            buf[--pos] = '-';
+        int end = 20;
+        if (newline) {
+            buf[end++] = '\r';
+            buf[end++] = '\n';
+        }
+        write(buf, pos, end - pos);
     }
 
     /**
@@ -225,7 +543,7 @@ public abstract class ServletOutputStream extends OutputStream {
      *
      */
     public void println() throws IOException {
-        print("\r\n");
+        write(CRLF, 0, CRLF.length);
     }
 
     /**
@@ -238,7 +556,34 @@ public abstract class ServletOutputStream extends OutputStream {
      *
      */
     public void println(String s) throws IOException {
-        print(s == null ? "null\r\n" : (s + "\r\n"));
+        if (s == null)
+            s = "null";
+        int len = s.length();
+        for (int i = 0; i < len; i++) {
+            checkISO8859_1(s.charAt(i));
+        }
+        printSingleByte(s, 0xff, true);
+    }
+
+    /**
+     * Writes a <code>CharSequence</code> to the client encoded with the given character set, followed by a carriage
+     * return-line feed (CRLF).
+     *
+     * @param cs the <code>CharSequence</code> to send to the client, or <code>null</code> to send <code>"null"</code>
+     *
+     * @param charset the character set used to encode the characters
+     *
+     * @exception IOException if an input or output exception occurred
+     *
+     * @exception NullPointerException if charset is null
+     *
+     * @see #print(CharSequence, Charset)
+     *
+     * @since Servlet 6.2
+     */
+    public void println(CharSequence cs, Charset charset) throws IOException {
+        Objects.requireNonNull(charset);
+        print(cs == null ? "null" : cs, charset, true);
     }
 
     /**
@@ -252,7 +597,7 @@ public abstract class ServletOutputStream extends OutputStream {
      *
      */
     public void println(boolean b) throws IOException {
-        println(lStrings.getString(b ? "value.true" : "value.false"));
+        println(b ? TRUE : FALSE);
     }
 
     /**
@@ -265,7 +610,12 @@ public abstract class ServletOutputStream extends OutputStream {
      *
      */
     public void println(char c) throws IOException {
-        println(String.valueOf(c));
+        checkISO8859_1(c);
+        byte[] buf = printBuffer(3);
+        buf[0] = (byte) c;
+        buf[1] = '\r';
+        buf[2] = '\n';
+        write(buf, 0, 3);
     }
 
     /**
@@ -279,7 +629,7 @@ public abstract class ServletOutputStream extends OutputStream {
      *
      */
     public void println(int i) throws IOException {
-        println(String.valueOf(i));
+        printLong(i, true);
     }
 
     /**
@@ -293,7 +643,7 @@ public abstract class ServletOutputStream extends OutputStream {
      *
      */
     public void println(long l) throws IOException {
-        println(String.valueOf(l));
+        printLong(l, true);
     }
 
     /**
@@ -324,6 +674,159 @@ public abstract class ServletOutputStream extends OutputStream {
         println(String.valueOf(d));
     }
 
+    /*
+     * Throws a CharConversionException if the character is not in ISO-8859-1.
+     */
+    private static void checkISO8859_1(char c) throws CharConversionException {
+        if ((c & 0xff00) != 0) { // high order byte must be zero
+            String errMsg = lStrings.getString("err.not_iso8859_1");
+            Object[] errArgs = new Object[1];
+            errArgs[0] = Character.valueOf(c);
+            errMsg = MessageFormat.format(errMsg, errArgs);
+            throw new CharConversionException(errMsg);
+        }
+    }
+
+    /*
+     * Returns the buffer reused by the print methods if it has the given length, or else a new array of that length.
+     */
+    private byte[] printBuffer(int length) {
+        if (length > PRINT_BUFFER_SIZE)
+            return new byte[length];
+        if (printBuffer == null)
+            printBuffer = new byte[PRINT_BUFFER_SIZE];
+        return printBuffer;
+    }
+
+    /*
+     * Writes characters one byte each, replacing characters above max and surrogate pairs with a single '?', followed by a
+     * CRLF if newline is true.
+     */
+    private void printSingleByte(CharSequence cs, int max, boolean newline) throws IOException {
+        int len = cs.length();
+        byte[] buf = printBuffer(newline ? len + 2 : len);
+        int n = 0;
+        for (int i = 0; i < len; i++) {
+            char c = cs.charAt(i);
+            if (c <= max) {
+                buf[n++] = (byte) c;
+            } else {
+                buf[n++] = '?';
+                if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(cs.charAt(i + 1)))
+                    i++;
+            }
+        }
+        if (newline) {
+            buf[n++] = '\r';
+            buf[n++] = '\n';
+        }
+        if (n > 0)
+            write(buf, 0, n);
+    }
+
+    /*
+     * Writes characters encoded in UTF-8, replacing malformed surrogates with '?' as the UTF-8 encoder does, followed by a
+     * CRLF if newline is true.
+     */
+    private void printUTF8(CharSequence cs, boolean newline) throws IOException {
+        int len = cs.length();
+        // at most three bytes per char, as a surrogate pair is encoded in four
+        byte[] buf = printBuffer(len <= (PRINT_BUFFER_SIZE - 2) / 3 ? PRINT_BUFFER_SIZE : utf8Length(cs) + 2);
+        int n = 0;
+        for (int i = 0; i < len; i++) {
+            char c = cs.charAt(i);
+            if (c < 0x80) {
+                buf[n++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[n++] = (byte) (0xc0 | (c >> 6));
+                buf[n++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(cs.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, cs.charAt(++i));
+                    buf[n++] = (byte) (0xf0 | (cp >> 18));
+                    buf[n++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                    buf[n++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                    buf[n++] = (byte) (0x80 | (cp & 0x3f));
+                } else {
+                    buf[n++] = '?';
+                }
+            } else {
+                buf[n++] = (byte) (0xe0 | (c >> 12));
+                buf[n++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                buf[n++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        if (newline) {
+            buf[n++] = '\r';
+            buf[n++] = '\n';
+        }
+        if (n > 0)
+            write(buf, 0, n);
+    }
+
+    /*
+     * Returns the length of characters encoded in UTF-8, as written by printUTF8.
+     */
+    private static int utf8Length(CharSequence cs) {
+        int len = cs.length();
+        int n = 0;
+        for (int i = 0; i < len; i++) {
+            char c = cs.charAt(i);
+            if (c < 0x80) {
+                n++;
+            } else if (c < 0x800) {
+                n += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(cs.charAt(i + 1))) {
+                n += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                n++;
+            } else {
+                n += 3;
+            }
+        }
+        return n;
+    }
+
+    /*
+     * Writes characters encoded with a CharsetEncoder, which is kept for subsequent calls with the same character set,
+     * followed by a CRLF encoded in the same character set if newline is true. The buffer is grown until it holds all the
+     * encoded bytes.
+     */
+    private void printEncoded(CharSequence cs, Charset charset, boolean newline) throws IOException {
+        CharsetEncoder encoder = printEncoder;
+        if (encoder == null || !encoder.charset().equals(charset)) {
+            encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            printEncoder = encoder;
+        } else {
+            encoder.reset();
+        }
+
+        // the line is encoded as a whole, so that a trailing malformed surrogate is replaced as by String.getBytes
+        CharBuffer in = CharBuffer.wrap(newline ? new StringBuilder(cs.length() + 2).append(cs).append("\r\n") : cs);
+        ByteBuffer out = ByteBuffer.wrap(printBuffer((int) Math.min(Integer.MAX_VALUE - 16,
+                (long) Math.ceil(in.remaining() * (double) encoder.maxBytesPerChar()))));
+        CoderResult result;
+        while ((result = encoder.encode(in, out, true)).isOverflow())
+            out = grow(out);
+        if (result.isError())
+            result.throwException();
+        while ((result = encoder.flush(out)).isOverflow())
+            out = grow(out);
+        if (result.isError())
+            result.throwException();
+        if (out.position() > 0)
+            write(out.array(), 0, out.position());
+    }
+
+    private static ByteBuffer grow(ByteBuffer out) {
+        ByteBuffer grown = ByteBuffer.allocate(Math.max(16, out.capacity() * 2));
+        out.flip();
+        return grown.put(out);
+    }
+
     /**
      * Returns {@code true} if it is allowable to call any method that may write data (i.e. {@code write()}, {@code print()}
      * {@code println()} or {@code flush}). In blocking mode, this method will always return {@code true}, but a subsequent
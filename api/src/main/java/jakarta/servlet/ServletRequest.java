@@ -21,6 +21,7 @@ package jakarta.servlet;
 import java.io.*;
 import java.nio.charset.Charset;
 import java.util.*;
+import java.util.function.BiConsumer;
 
 /**
  * Defines an object to provide client request information to a servlet. The servlet container creates a
@@ -261,6 +262,84 @@ public interface ServletRequest {
      */
     Map<String, String[]> getParameterMap();
 
+    /**
+     * Performs the given action for each parameter of this request, in the order of {@link #getParameterMap()}. The values
+     * are passed as an unmodifiable list, in the order of {@link #getParameterValues(String)}, that may be a view of the
+     * values held by the container and must not be retained after the action returns.
+     *
+     * <p>
+     * If not already parsed, calling this method will trigger the parsing of the parameters, as for
+     * {@link #getParameterMap()}.
+     *
+     * @implSpec The default implementation iterates over {@link #getParameterMap()}, passing a view of each array of values.
+     * Containers are encouraged to override it and pass their own storage of the values without copying it.
+     *
+     * @param action the action to perform for each parameter name and its values
+     *
+     * @throws IllegalStateException if parameter parsing is triggered and a problem is encountered parsing the parameters,
+     * as for {@link #getParameterMap()}
+     *
+     * @throws NullPointerException if action is null
+     *
+     * @since Servlet 6.2
+     */
+    default void forEachParameter(BiConsumer<String, List<String>> action) {
+        Objects.requireNonNull(action);
+        for (Map.Entry<String, String[]> entry : getParameterMap().entrySet()) {
+            action.accept(entry.getKey(), Collections.unmodifiableList(Arrays.asList(entry.getValue())));
+        }
+    }
+
+    /**
+     * Returns the value of a request parameter at the given index of its values, in the order of
+     * {@link #getParameterValues(String)}, or <code>null</code> if the parameter does not exist or has no value at that
+     * index. Unlike {@link #getParameterValues(String)}, no array needs to be copied.
+     *
+     * @implSpec The default implementation returns the value at the index of the array returned by
+     * {@link #getParameterValues(String)}. Containers are encouraged to override it and read the value from their own
+     * storage.
+     *
+     * @param name a <code>String</code> specifying the name of the parameter
+     * @param index the index of the value
+     *
+     * @return a <code>String</code> representing the value of the parameter at the index, or <code>null</code>
+     *
+     * @throws IndexOutOfBoundsException if index is negative
+     *
+     * @throws IllegalStateException if parameter parsing is triggered and a problem is encountered parsing the parameters,
+     * as for {@link #getParameterMap()}
+     *
+     * @since Servlet 6.2
+     */
+    default String getParameter(String name, int index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("index: " + index);
+        }
+        String[] values = getParameterValues(name);
+        return values != null && index < values.length ? values[index] : null;
+    }
+
+    /**
+     * Returns the number of values of a request parameter, or <code>0</code> if the parameter does not exist.
+     *
+     * @implSpec The default implementation returns the length of the array returned by
+     * {@link #getParameterValues(String)}. Containers are encouraged to override it and read the count from their own
+     * storage.
+     *
+     * @param name a <code>String</code> specifying the name of the parameter
+     *
+     * @return the number of values of the parameter
+     *
+     * @throws IllegalStateException if parameter parsing is triggered and a problem is encountered parsing the parameters,
+     * as for {@link #getParameterMap()}
+     *
+     * @since Servlet 6.2
+     */
+    default int getParameterCount(String name) {
+        String[] values = getParameterValues(name);
+        return values == null ? 0 : values.length;
+    }
+
     /**
      * Returns the name and version of the protocol the request uses in the form <i>protocol/majorVersion.minorVersion</i>,
      * for example, HTTP/1.1.
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.servlet;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/*
+ * The Flow.Subscriber used by ServletOutputStream.writeFrom. One buffer is requested at a time and the next one only
+ * once writeAsync has completed, that is once the WriteListener callbacks report that the stream is ready again, so the
+ * publisher can never get ahead of the client.
+ */
+final class WriteSubscriber implements Flow.Subscriber<ByteBuffer> {
+
+    private final ServletOutputStream out;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private Flow.Subscription subscription;
+    // the publisher may complete without demand, so before the last write has completed
+    private CompletionStage<Void> lastWrite;
+
+    WriteSubscriber(ServletOutputStream out) {
+        this.out = out;
+    }
+
+    CompletionStage<Void> completion() {
+        return completion;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer);
+        CompletionStage<Void> write;
+        try {
+            write = out.writeAsync(buffer);
+        } catch (Throwable t) {
+            subscription.cancel();
+            completion.completeExceptionally(t);
+            return;
+        }
+        lastWrite = write;
+        write.whenComplete((v, t) -> {
+            if (t == null) {
+                subscription.request(1);
+            } else {
+                subscription.cancel();
+                completion.completeExceptionally(t);
+            }
+        });
+    }
+
+    @Override
+    public void onError(Throwable failure) {
+        completion.completeExceptionally(Objects.requireNonNull(failure));
+    }
+
+    @Override
+    public void onComplete() {
+        if (lastWrite == null) {
+            completion.complete(null);
+        } else {
+            lastWrite.thenRun(() -> completion.complete(null));
+        }
+    }
+}
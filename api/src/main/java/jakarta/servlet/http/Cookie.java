@@ -18,13 +18,23 @@
 
 package jakarta.servlet.http;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Locale;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.Set;
 import java.util.TreeMap;
 
 /**
@@ -61,7 +71,9 @@ public class Cookie implements Cloneable, Serializable {
 
     private static final long serialVersionUID = -5433071011125749022L;
 
-    private static final String TSPECIALS;
+    // Whether names must be RFC 9110 tokens, rather than only exclude the separators of the Cookie header
+    private static final boolean TOKEN_NAMES = Boolean
+            .parseBoolean(System.getProperty("org.glassfish.web.rfc2109_cookie_names_enforced", "true"));
 
     private static final String LSTRING_FILE = "jakarta.servlet.http.LocalStrings";
 
@@ -70,20 +82,15 @@ public class Cookie implements Cloneable, Serializable {
     private static final String PATH = "Path"; // ;Path=VALUE ... URLs that see the cookie
     private static final String SECURE = "Secure"; // ;Secure ... e.g. use SSL
     private static final String HTTP_ONLY = "HttpOnly";
+    private static final String SAME_SITE = "SameSite";
+    private static final String PARTITIONED = "Partitioned";
     private static final String EMPTY_STRING = "";
+    // The standard attributes stored in fields, in the case insensitive order of their names
+    private static final String[] STANDARD_ATTRIBUTES = { DOMAIN, HTTP_ONLY, MAX_AGE, PARTITIONED, PATH, SAME_SITE,
+            SECURE };
 
     private static final ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
 
-    static {
-        boolean enforced = Boolean.parseBoolean(System.getProperty("org.glassfish.web.rfc2109_cookie_names_enforced", "true"));
-
-        if (enforced) {
-            TSPECIALS = "/()<>@,;:\\\"[]?={} \t";
-        } else {
-            TSPECIALS = ",; ";
-        }
-    }
-
     //
     // The value of the cookie itself.
     //
@@ -91,8 +98,16 @@ public class Cookie implements Cloneable, Serializable {
     private String value; // value of NAME
 
     //
-    // Attributes encoded in the header's cookie fields.
+    // Attributes encoded in the header's cookie fields. The standard attributes have their own fields, and the map is only
+    // allocated for the other attributes. The serialized form holds all the attributes in the map.
     //
+    private transient String domain;
+    private transient String path;
+    private transient int maxAge = -1;
+    private transient String secure;
+    private transient String httpOnly;
+    private transient String sameSite;
+    private transient String partitioned;
     private Map<String, String> attributes = null;
 
     /**
@@ -175,7 +190,7 @@ public class Cookie implements Cloneable, Serializable {
      * @see #getDomain
      */
     public void setDomain(String domain) {
-        putAttribute(DOMAIN, domain != null ? domain.toLowerCase(Locale.ENGLISH) : null); // IE allegedly needs this
+        this.domain = domain != null ? domain.toLowerCase(Locale.ENGLISH) : null; // IE allegedly needs this
     }
 
     /**
@@ -189,7 +204,7 @@ public class Cookie implements Cloneable, Serializable {
      * @see #setDomain
      */
     public String getDomain() {
-        return getAttribute(DOMAIN);
+        return domain;
     }
 
     /**
@@ -209,7 +224,7 @@ public class Cookie implements Cloneable, Serializable {
      * @see #getMaxAge
      */
     public void setMaxAge(int expiry) {
-        putAttribute(MAX_AGE, expiry < 0 ? null : String.valueOf(expiry));
+        maxAge = expiry < 0 ? -1 : expiry;
     }
 
     /**
@@ -224,8 +239,7 @@ public class Cookie implements Cloneable, Serializable {
      * @see #setMaxAge
      */
     public int getMaxAge() {
-        String maxAge = getAttribute(MAX_AGE);
-        return maxAge == null ? -1 : Integer.parseInt(maxAge);
+        return maxAge;
     }
 
     /**
@@ -246,7 +260,7 @@ public class Cookie implements Cloneable, Serializable {
      * @see #getPath
      */
     public void setPath(String uri) {
-        putAttribute(PATH, uri);
+        path = uri;
     }
 
     /**
@@ -258,7 +272,7 @@ public class Cookie implements Cloneable, Serializable {
      * @see #setPath
      */
     public String getPath() {
-        return getAttribute(PATH);
+        return path;
     }
 
     /**
@@ -273,11 +287,7 @@ public class Cookie implements Cloneable, Serializable {
      * @see #getSecure
      */
     public void setSecure(boolean flag) {
-        if (flag) {
-            putAttribute(SECURE, EMPTY_STRING);
-        } else {
-            putAttribute(SECURE, null);
-        }
+        secure = flag ? EMPTY_STRING : null;
     }
 
     /**
@@ -289,7 +299,7 @@ public class Cookie implements Cloneable, Serializable {
      * @see #setSecure
      */
     public boolean getSecure() {
-        return EMPTY_STRING.equals(getAttribute(SECURE));
+        return EMPTY_STRING.equals(secure);
     }
 
     /**
@@ -370,10 +380,13 @@ public class Cookie implements Cloneable, Serializable {
      * <code>false</code> otherwise
      */
     private static boolean hasReservedCharacters(String value) {
+        if (TOKEN_NAMES) {
+            return !HttpSyntax.isToken(value);
+        }
         int len = value.length();
         for (int i = 0; i < len; i++) {
             char c = value.charAt(i);
-            if (c < 0x20 || c >= 0x7f || TSPECIALS.indexOf(c) != -1) {
+            if (c <= 0x20 || c >= 0x7f || c == ',' || c == ';') {
                 return true;
             }
         }
@@ -422,11 +435,7 @@ public class Cookie implements Cloneable, Serializable {
      * @since Servlet 3.0
      */
     public void setHttpOnly(boolean httpOnly) {
-        if (httpOnly) {
-            putAttribute(HTTP_ONLY, EMPTY_STRING);
-        } else {
-            putAttribute(HTTP_ONLY, null);
-        }
+        this.httpOnly = httpOnly ? EMPTY_STRING : null;
     }
 
     /**
@@ -437,7 +446,7 @@ public class Cookie implements Cloneable, Serializable {
      * @since Servlet 3.0
      */
     public boolean isHttpOnly() {
-        return EMPTY_STRING.equals(getAttribute(HTTP_ONLY));
+        return EMPTY_STRING.equals(httpOnly);
     }
 
     /**
@@ -484,23 +493,63 @@ public class Cookie implements Cloneable, Serializable {
             throw new IllegalArgumentException(createErrorMessage("err.cookie_attribute_name_invalid", name));
         }
 
-        if (MAX_AGE.equalsIgnoreCase(name) && value != null) {
-            setMaxAge(Integer.parseInt(value));
-        } else {
-            putAttribute(name, value);
-        }
+        putAttribute(name, value);
     }
 
     private void putAttribute(String name, String value) {
-        if (attributes == null) {
-            attributes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        switch (name.length()) {
+        case 4:
+            if (PATH.equalsIgnoreCase(name)) {
+                path = value;
+                return;
+            }
+            break;
+        case 6:
+            if (DOMAIN.equalsIgnoreCase(name)) {
+                domain = value;
+                return;
+            }
+            if (SECURE.equalsIgnoreCase(name)) {
+                secure = value;
+                return;
+            }
+            break;
+        case 7:
+            if (MAX_AGE.equalsIgnoreCase(name)) {
+                setMaxAge(value == null ? -1 : Integer.parseInt(value));
+                return;
+            }
+            break;
+        case 8:
+            if (HTTP_ONLY.equalsIgnoreCase(name)) {
+                httpOnly = value;
+                return;
+            }
+            if (SAME_SITE.equalsIgnoreCase(name)) {
+                sameSite = value;
+                return;
+            }
+            break;
+        case 11:
+            if (PARTITIONED.equalsIgnoreCase(name)) {
+                partitioned = value;
+                return;
+            }
+            break;
+        default:
+            break;
         }
 
         if (value == null) {
-            attributes.remove(name);
-        } else {
-            attributes.put(name, value);
+            if (attributes != null) {
+                attributes.remove(name);
+            }
+            return;
+        }
+        if (attributes == null) {
+            attributes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
         }
+        attributes.put(name, value);
     }
 
     /**
@@ -518,6 +567,41 @@ public class Cookie implements Cloneable, Serializable {
      * @since Servlet 6.0
      */
     public String getAttribute(String name) {
+        switch (name.length()) {
+        case 4:
+            if (PATH.equalsIgnoreCase(name)) {
+                return path;
+            }
+            break;
+        case 6:
+            if (DOMAIN.equalsIgnoreCase(name)) {
+                return domain;
+            }
+            if (SECURE.equalsIgnoreCase(name)) {
+                return secure;
+            }
+            break;
+        case 7:
+            if (MAX_AGE.equalsIgnoreCase(name)) {
+                return maxAge < 0 ? null : String.valueOf(maxAge);
+            }
+            break;
+        case 8:
+            if (HTTP_ONLY.equalsIgnoreCase(name)) {
+                return httpOnly;
+            }
+            if (SAME_SITE.equalsIgnoreCase(name)) {
+                return sameSite;
+            }
+            break;
+        case 11:
+            if (PARTITIONED.equalsIgnoreCase(name)) {
+                return partitioned;
+            }
+            break;
+        default:
+            break;
+        }
         return attributes == null ? null : attributes.get(name);
     }
 
@@ -531,12 +615,303 @@ public class Cookie implements Cloneable, Serializable {
      * @since Servlet 6.0
      */
     public Map<String, String> getAttributes() {
-        return attributes == null ? Collections.emptyMap() : Collections.unmodifiableMap(attributes);
+        return new Attributes();
+    }
+
+    /*
+     * Returns all the attributes in a new map ordered as the attributes have always been, or null if there are none.
+     */
+    private Map<String, String> toAttributeMap() {
+        if (domain == null && path == null && maxAge < 0 && secure == null && httpOnly == null && sameSite == null
+                && partitioned == null && (attributes == null || attributes.isEmpty())) {
+            return null;
+        }
+        Map<String, String> map = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (attributes != null) {
+            map.putAll(attributes);
+        }
+        putIfSet(map, DOMAIN, domain);
+        putIfSet(map, PATH, path);
+        putIfSet(map, MAX_AGE, maxAge < 0 ? null : String.valueOf(maxAge));
+        putIfSet(map, SECURE, secure);
+        putIfSet(map, HTTP_ONLY, httpOnly);
+        putIfSet(map, SAME_SITE, sameSite);
+        putIfSet(map, PARTITIONED, partitioned);
+        return map;
+    }
+
+    private static void putIfSet(Map<String, String> map, String name, String value) {
+        if (value != null) {
+            map.put(name, value);
+        }
+    }
+
+    /*
+     * Returns the value of the standard attribute at the given index of STANDARD_ATTRIBUTES, or null if it is not set.
+     */
+    private String standardAttribute(int index) {
+        switch (index) {
+        case 0:
+            return domain;
+        case 1:
+            return httpOnly;
+        case 2:
+            return maxAge < 0 ? null : String.valueOf(maxAge);
+        case 3:
+            return partitioned;
+        case 4:
+            return path;
+        case 5:
+            return sameSite;
+        default:
+            return secure;
+        }
+    }
+
+    /*
+     * The view of the attributes returned by getAttributes. Lookups go to the fields, and iteration merges the standard
+     * attributes with the other attributes in the order of their names, without building a map.
+     */
+    private final class Attributes extends AbstractMap<String, String> {
+        @Override
+        public String get(Object key) {
+            return key instanceof String ? getAttribute((String) key) : null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            int size = attributes == null ? 0 : attributes.size();
+            size += domain == null ? 0 : 1;
+            size += path == null ? 0 : 1;
+            size += maxAge < 0 ? 0 : 1;
+            size += secure == null ? 0 : 1;
+            size += httpOnly == null ? 0 : 1;
+            size += sameSite == null ? 0 : 1;
+            size += partitioned == null ? 0 : 1;
+            return size;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<Entry<String, String>>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new AttributeIterator();
+                }
+
+                @Override
+                public int size() {
+                    return Attributes.this.size();
+                }
+            };
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /*
+     * Iterates over the set standard attributes and the other attributes, merged in the order of their names.
+     */
+    private final class AttributeIterator implements Iterator<Map.Entry<String, String>> {
+        private final Iterator<Map.Entry<String, String>> others = attributes == null ? Collections.emptyIterator()
+                : attributes.entrySet().iterator();
+        private Map.Entry<String, String> other = others.hasNext() ? others.next() : null;
+        private int standard = nextStandard(0);
+
+        private int nextStandard(int index) {
+            while (index < STANDARD_ATTRIBUTES.length && standardAttribute(index) == null) {
+                index++;
+            }
+            return index;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return other != null || standard < STANDARD_ATTRIBUTES.length;
+        }
+
+        @Override
+        public Map.Entry<String, String> next() {
+            if (standard < STANDARD_ATTRIBUTES.length && (other == null
+                    || String.CASE_INSENSITIVE_ORDER.compare(STANDARD_ATTRIBUTES[standard], other.getKey()) < 0)) {
+                Map.Entry<String, String> entry = new AbstractMap.SimpleImmutableEntry<>(STANDARD_ATTRIBUTES[standard],
+                        standardAttribute(standard));
+                standard = nextStandard(standard + 1);
+                return entry;
+            }
+            if (other == null) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<String, String> entry = new AbstractMap.SimpleImmutableEntry<>(other);
+            other = others.hasNext() ? others.next() : null;
+            return entry;
+        }
+    }
+
+    /**
+     * Appends the value of a <code>Set-Cookie</code> header for this Cookie, as defined by RFC 6265, to the given
+     * <code>Appendable</code>.
+     *
+     * <p>
+     * The cookie is written as <code>name=value</code>, followed by the <code>Max-Age</code>, <code>Domain</code>,
+     * <code>Path</code>, <code>Secure</code>, <code>HttpOnly</code>, <code>SameSite</code> and <code>Partitioned</code>
+     * attributes, when set, and then by any other attributes in the order of their names. An attribute with an empty value
+     * is written as its name alone. A <code>null</code> value is written as the empty value. Neither the value nor the
+     * attributes are quoted. So that they cannot inject another attribute or header, the value must be a valid cookie
+     * value and the attribute values must not contain control characters or <code>;</code>.
+     *
+     * @param out the <code>Appendable</code> to write to
+     *
+     * @throws IOException if an I/O error occurs while writing to <code>out</code>
+     *
+     * @throws IllegalArgumentException if the value contains a character that is not allowed in a cookie value, or if an
+     * attribute value contains a control character or <code>;</code>
+     *
+     * @see CookieTemplate
+     *
+     * @since Servlet 6.2
+     */
+    public void appendSetCookie(Appendable out) throws IOException {
+        checkValue(value);
+        checkAttributes();
+        out.append(name).append('=');
+        if (value != null) {
+            out.append(value);
+        }
+        appendAttributes(out);
+    }
+
+    /**
+     * Returns the value of a <code>Set-Cookie</code> header for this Cookie, as written by
+     * {@link #appendSetCookie(Appendable)}, encoded in ISO-8859-1.
+     *
+     * @return the encoded <code>Set-Cookie</code> header value
+     *
+     * @throws IllegalArgumentException if the value contains a character that is not allowed in a cookie value, or if an
+     * attribute value contains a control character or <code>;</code>
+     *
+     * @since Servlet 6.2
+     */
+    public byte[] toSetCookieBytes() {
+        StringBuilder builder = new StringBuilder(64);
+        try {
+            appendSetCookie(builder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // not thrown by StringBuilder
+        }
+        return builder.toString().getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /*
+     * Checks that a value can be written in a Set-Cookie header without quoting. Used by CookieTemplate for the values it
+     * substitutes.
+     */
+    static void checkValue(String value) {
+        if (value != null && !HttpSyntax.isCookieValue(value)) {
+            throw new IllegalArgumentException(createErrorMessage("err.cookie_value_invalid", value));
+        }
+    }
+
+    /*
+     * Checks, before anything is written, that the attribute values cannot inject another attribute or header.
+     */
+    void checkAttributes() {
+        checkAttribute(DOMAIN, domain);
+        checkAttribute(PATH, path);
+        checkAttribute(SECURE, secure);
+        checkAttribute(HTTP_ONLY, httpOnly);
+        checkAttribute(SAME_SITE, sameSite);
+        checkAttribute(PARTITIONED, partitioned);
+        if (attributes != null) {
+            for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                checkAttribute(attribute.getKey(), attribute.getValue());
+            }
+        }
+    }
+
+    private static void checkAttribute(String name, String value) {
+        if (value != null && (!HttpSyntax.isFieldValue(value) || value.indexOf(';') >= 0)) {
+            throw new IllegalArgumentException(createErrorMessage("err.cookie_attribute_value_invalid", name));
+        }
     }
 
+    /*
+     * Appends the attributes of the Set-Cookie header, each preceded by "; ", once they have been checked. Used by
+     * CookieTemplate to serialize the attributes once.
+     */
+    void appendAttributes(Appendable out) throws IOException {
+        if (maxAge >= 0) {
+            out.append("; ").append(MAX_AGE).append('=').append(Integer.toString(maxAge));
+        }
+        appendAttribute(out, DOMAIN, domain);
+        appendAttribute(out, PATH, path);
+        appendAttribute(out, SECURE, secure);
+        appendAttribute(out, HTTP_ONLY, httpOnly);
+        appendAttribute(out, SAME_SITE, sameSite);
+        appendAttribute(out, PARTITIONED, partitioned);
+        if (attributes != null) {
+            for (Map.Entry<String, String> attribute : attributes.entrySet()) {
+                appendAttribute(out, attribute.getKey(), attribute.getValue());
+            }
+        }
+    }
+
+    private static void appendAttribute(Appendable out, String name, String value) throws IOException {
+        if (value != null) {
+            out.append("; ").append(name);
+            if (!value.isEmpty()) {
+                out.append('=').append(value);
+            }
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        ObjectOutputStream.PutField fields = out.putFields();
+        fields.put("name", name);
+        fields.put("value", value);
+        fields.put("attributes", toAttributeMap());
+        out.writeFields();
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        maxAge = -1;
+        Map<String, String> serialized = attributes;
+        attributes = null;
+        if (serialized != null) {
+            serialized.forEach(this::putAttribute);
+        }
+    }
+
+    /*
+     * The attributes are compared through their fields rather than through getAttributes, so that neither method
+     * allocates.
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(name, value, attributes);
+        int hash = Objects.hashCode(name);
+        hash = 31 * hash + Objects.hashCode(value);
+        hash = 31 * hash + Objects.hashCode(domain);
+        hash = 31 * hash + Objects.hashCode(path);
+        hash = 31 * hash + maxAge;
+        hash = 31 * hash + Objects.hashCode(secure);
+        hash = 31 * hash + Objects.hashCode(httpOnly);
+        hash = 31 * hash + Objects.hashCode(sameSite);
+        hash = 31 * hash + Objects.hashCode(partitioned);
+        return 31 * hash + (attributes == null ? 0 : attributes.hashCode());
     }
 
     @Override
@@ -546,13 +921,22 @@ public class Cookie implements Cloneable, Serializable {
             return Objects.equals(getName(), c.getName()) &&
                     Objects.equals(getValue(), c.getValue()) &&
                     getVersion() == c.getVersion() &&
-                    Objects.equals(getAttributes(), c.getAttributes());
+                    Objects.equals(domain, c.domain) &&
+                    Objects.equals(path, c.path) &&
+                    maxAge == c.maxAge &&
+                    Objects.equals(secure, c.secure) &&
+                    Objects.equals(httpOnly, c.httpOnly) &&
+                    Objects.equals(sameSite, c.sameSite) &&
+                    Objects.equals(partitioned, c.partitioned) &&
+                    (attributes == null || attributes.isEmpty()
+                            ? c.attributes == null || c.attributes.isEmpty()
+                            : attributes.equals(c.attributes));
         }
         return false;
     }
 
     @Override
     public String toString() {
-        return String.format("%s{%s=%s,%s}", super.toString(), name, value, attributes);
+        return String.format("%s{%s=%s,%s}", super.toString(), name, value, toAttributeMap());
     }
 }
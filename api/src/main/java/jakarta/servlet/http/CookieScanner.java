@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.servlet.http;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/*
+ * Scans the cookie-pairs of Cookie request headers in place, as used by the default getCookie and forEachCookie methods
+ * of HttpServletRequest. Only the values asked for are extracted, and no Cookie objects are created. Pairs without a
+ * name or without an equals sign are skipped, and values are returned as sent, including any quotes.
+ */
+final class CookieScanner {
+
+    private CookieScanner() {
+    }
+
+    static String find(List<String> headers, String name) {
+        for (int h = 0; h < headers.size(); h++) {
+            String header = headers.get(h);
+            int length = header.length();
+            int start = 0;
+            while (start < length) {
+                int end = header.indexOf(';', start);
+                if (end < 0) {
+                    end = length;
+                }
+                int nameStart = skipWhitespace(header, start, end);
+                if (end - nameStart > name.length() && header.startsWith(name, nameStart)) {
+                    int equals = skipWhitespace(header, nameStart + name.length(), end);
+                    if (equals < end && header.charAt(equals) == '=') {
+                        return value(header, equals + 1, end);
+                    }
+                }
+                start = end + 1;
+            }
+        }
+        return null;
+    }
+
+    static void forEach(List<String> headers, BiConsumer<String, String> action) {
+        for (int h = 0; h < headers.size(); h++) {
+            String header = headers.get(h);
+            int length = header.length();
+            int start = 0;
+            while (start < length) {
+                int end = header.indexOf(';', start);
+                if (end < 0) {
+                    end = length;
+                }
+                int equals = header.indexOf('=', start);
+                if (equals >= 0 && equals < end) {
+                    int nameStart = skipWhitespace(header, start, equals);
+                    int nameEnd = trimWhitespace(header, nameStart, equals);
+                    if (nameStart < nameEnd) {
+                        action.accept(header.substring(nameStart, nameEnd), value(header, equals + 1, end));
+                    }
+                }
+                start = end + 1;
+            }
+        }
+    }
+
+    private static String value(String header, int start, int end) {
+        start = skipWhitespace(header, start, end);
+        return header.substring(start, trimWhitespace(header, start, end));
+    }
+
+    private static int skipWhitespace(String header, int start, int end) {
+        while (start < end && isWhitespace(header.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimWhitespace(String header, int start, int end) {
+        while (end > start && isWhitespace(header.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t';
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.servlet.http;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.SessionCookieConfig;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable cookie name and set of attributes, used to write the <code>Set-Cookie</code> headers of cookies that only
+ * differ in their value, such as session tracking cookies.
+ *
+ * <p>
+ * The header is serialized once, as by {@link Cookie#appendSetCookie(Appendable)}, when the template is created; writing
+ * a cookie then only substitutes its value. A template is typically created once, for example from the
+ * {@link SessionCookieConfig} of a context when the context has been initialized and the configuration can no longer
+ * change, and reused for every cookie it describes.
+ *
+ * <p>
+ * This class is thread safe.
+ *
+ * @see Cookie#appendSetCookie(Appendable)
+ *
+ * @since Servlet 6.2
+ */
+public final class CookieTemplate {
+
+    private static final String DEFAULT_SESSION_COOKIE_NAME = "JSESSIONID";
+
+    private final Cookie cookie;
+    private final Map<String, String> attributes;
+    private final String prefix;
+    private final String suffix;
+    private final byte[] prefixBytes;
+    private final byte[] suffixBytes;
+
+    private CookieTemplate(Cookie cookie) {
+        this.cookie = cookie;
+        Map<String, String> attributes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        attributes.putAll(cookie.getAttributes());
+        this.attributes = Collections.unmodifiableMap(attributes);
+        cookie.checkAttributes();
+        StringBuilder builder = new StringBuilder(64);
+        try {
+            cookie.appendAttributes(builder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // not thrown by StringBuilder
+        }
+        prefix = cookie.getName() + '=';
+        suffix = builder.toString();
+        prefixBytes = prefix.getBytes(StandardCharsets.ISO_8859_1);
+        suffixBytes = suffix.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Creates a template with the name and the attributes of the given cookie. The value of the cookie is ignored, and
+     * later changes to the cookie do not affect the template.
+     *
+     * @param cookie the cookie to copy the name and the attributes from
+     *
+     * @return the template
+     *
+     * @throws IllegalArgumentException if an attribute value contains a control character or <code>;</code>
+     */
+    public static CookieTemplate of(Cookie cookie) {
+        return new CookieTemplate((Cookie) cookie.clone());
+    }
+
+    /**
+     * Creates a template for the session tracking cookies of the given context, as configured by its
+     * {@link SessionCookieConfig}. The name defaults to <code>JSESSIONID</code> and the path defaults to the context path,
+     * or to <code>/</code> for the root context.
+     *
+     * <p>
+     * The session cookie configuration cannot change once the context has been initialized, so the template created then
+     * may be kept for the lifetime of the context.
+     *
+     * @param context the context to create the template for
+     *
+     * @return the template
+     *
+     * @throws IllegalArgumentException if an attribute value contains a control character or <code>;</code>
+     */
+    public static CookieTemplate forSession(ServletContext context) {
+        SessionCookieConfig config = context.getSessionCookieConfig();
+        String name = config.getName();
+        Cookie cookie = new Cookie(name == null || name.isEmpty() ? DEFAULT_SESSION_COOKIE_NAME : name, null);
+        config.getAttributes().forEach(cookie::setAttribute);
+        if (cookie.getPath() == null) {
+            String contextPath = context.getContextPath();
+            cookie.setPath(contextPath == null || contextPath.isEmpty() ? "/" : contextPath);
+        }
+        return new CookieTemplate(cookie);
+    }
+
+    /**
+     * Returns the name of the cookies described by this template.
+     *
+     * @return the cookie name
+     */
+    public String getName() {
+        return cookie.getName();
+    }
+
+    /**
+     * Returns the value of the given attribute of the cookies described by this template.
+     *
+     * @param name the name of the attribute, case insensitive
+     *
+     * @return the value of the attribute, or <code>null</code> if it is not set
+     */
+    public String getAttribute(String name) {
+        return cookie.getAttribute(name);
+    }
+
+    /**
+     * Returns the attributes of the cookies described by this template.
+     *
+     * @return an unmodifiable map of the attributes, with case insensitive keys
+     */
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * Creates a new cookie with the name and the attributes of this template and the given value.
+     *
+     * @param value the value of the cookie
+     *
+     * @return the new cookie
+     */
+    public Cookie newCookie(String value) {
+        Cookie newCookie = (Cookie) cookie.clone();
+        newCookie.setValue(value);
+        return newCookie;
+    }
+
+    /**
+     * Appends the value of a <code>Set-Cookie</code> header for the cookie with the given value to the given
+     * <code>Appendable</code>.
+     *
+     * @param out the <code>Appendable</code> to write to
+     *
+     * @param value the value of the cookie; <code>null</code> is written as the empty value
+     *
+     * @throws IOException if an I/O error occurs while writing to <code>out</code>
+     *
+     * @throws IllegalArgumentException if the value contains a character that is not allowed in a cookie value
+     */
+    public void appendSetCookie(Appendable out, String value) throws IOException {
+        Cookie.checkValue(value);
+        out.append(prefix);
+        if (value != null) {
+            out.append(value);
+        }
+        out.append(suffix);
+    }
+
+    /**
+     * Returns the value of a <code>Set-Cookie</code> header for the cookie with the given value.
+     *
+     * @param value the value of the cookie; <code>null</code> is written as the empty value
+     *
+     * @return the header value
+     *
+     * @throws IllegalArgumentException if the value contains a character that is not allowed in a cookie value
+     */
+    public String toSetCookie(String value) {
+        Cookie.checkValue(value);
+        return value == null ? prefix + suffix : prefix + value + suffix;
+    }
+
+    /**
+     * Returns the value of a <code>Set-Cookie</code> header for the cookie with the given value, encoded in ISO-8859-1.
+     *
+     * @param value the value of the cookie; <code>null</code> is written as the empty value
+     *
+     * @return the encoded header value
+     *
+     * @throws IllegalArgumentException if the value contains a character that is not allowed in a cookie value
+     */
+    public byte[] toSetCookieBytes(String value) {
+        Cookie.checkValue(value);
+        int length = value == null ? 0 : value.length();
+        byte[] bytes = new byte[prefixBytes.length + length + suffixBytes.length];
+        System.arraycopy(prefixBytes, 0, bytes, 0, prefixBytes.length);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            bytes[prefixBytes.length + i] = (byte) (c > 0xff ? '?' : c);
+        }
+        System.arraycopy(suffixBytes, 0, bytes, prefixBytes.length + length, suffixBytes.length);
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s{%s%s}", super.toString(), prefix, suffix);
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.servlet.http;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.util.Locale;
+
+/**
+ * Formats and parses HTTP dates, as used by the <code>Date</code>, <code>Last-Modified</code>, <code>Expires</code> and
+ * conditional request headers.
+ *
+ * <p>
+ * Dates are formatted in the IMF-fixdate format of RFC 9110, for example <code>Sun, 06 Nov 1994 08:49:37 GMT</code>,
+ * either into a caller provided array without any allocation or as a string. The current date is formatted at most once
+ * a second. Dates are parsed in the IMF-fixdate format without allocation, and in the obsolete RFC 850 and asctime
+ * formats that recipients are also required to accept; the most recently parsed values are cached so that the dates
+ * repeated across requests, such as the <code>If-Modified-Since</code> of a popular resource, are parsed only once.
+ * Impossible dates, such as February 31, and dates whose day of the week does not match are rejected.
+ *
+ * <p>
+ * This class is intended for containers implementing {@link HttpServletResponse#setDateHeader(String, long)},
+ * {@link HttpServletRequest#getDateHeader(String)} and the <code>Date</code> header. {@link HttpServlet} itself sets and
+ * reads dates through those methods, so that the implementation of the container, and any wrapper overriding them,
+ * applies.
+ *
+ * <p>
+ * This class is thread safe.
+ *
+ * @since Servlet 6.2
+ */
+public final class HttpDate {
+
+    /**
+     * The length of a formatted date, in characters or bytes.
+     */
+    public static final int LENGTH = 29;
+
+    private static final byte[] DAYS = "SunMonTueWedThuFriSat".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] MONTHS = "JanFebMarAprMayJunJulAugSepOctNovDec".getBytes(StandardCharsets.US_ASCII);
+    private static final long MAX_SECONDS = 253402300799L; // 9999-12-31T23:59:59Z
+    private static final long MIN_SECONDS = -62135596800L; // 0001-01-01T00:00:00Z
+    private static final int CACHE_SIZE = 32;
+
+    // RFC 9110 requires a two digit year more than 50 years in the future to be taken as in the past
+    private static final DateTimeFormatter RFC_850 = new DateTimeFormatterBuilder().appendPattern("EEEE, dd-MMM-")
+            .appendValueReduced(ChronoField.YEAR, 2, 2, LocalDate.now(ZoneOffset.UTC).minusYears(49))
+            .appendPattern(" HH:mm:ss 'GMT'").toFormatter(Locale.US).withZone(ZoneOffset.UTC)
+            .withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter ASCTIME = DateTimeFormatter.ofPattern("EEE MMM ppd HH:mm:ss uuuu", Locale.US)
+            .withZone(ZoneOffset.UTC).withResolverStyle(ResolverStyle.STRICT);
+
+    private static volatile Formatted current = new Formatted(Long.MIN_VALUE, null);
+    // A direct mapped cache of recently parsed values, indexed by the hash of the value
+    private static final Parsed[] PARSED = new Parsed[CACHE_SIZE];
+
+    private HttpDate() {
+    }
+
+    /**
+     * Returns the current date, formatted at most once a second.
+     *
+     * @return the current date
+     */
+    public static String now() {
+        long seconds = System.currentTimeMillis() / 1000;
+        Formatted formatted = current;
+        if (formatted.seconds != seconds) {
+            byte[] bytes = new byte[LENGTH];
+            format(seconds * 1000, bytes, 0);
+            formatted = new Formatted(seconds, new String(bytes, StandardCharsets.US_ASCII));
+            current = formatted;
+        }
+        return formatted.value;
+    }
+
+    /**
+     * Formats the given date.
+     *
+     * @param millis the date as the number of milliseconds since January 1, 1970 GMT
+     *
+     * @return the formatted date
+     *
+     * @throws IllegalArgumentException if the date is not within the years 1 to 9999
+     */
+    public static String format(long millis) {
+        // a date in the current second, such as that of a resource just modified, is already formatted
+        long seconds = Math.floorDiv(millis, 1000);
+        Formatted formatted = current;
+        if (formatted.seconds == seconds) {
+            return formatted.value;
+        }
+        byte[] bytes = new byte[LENGTH];
+        format(millis, bytes, 0);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Formats the given date into the given array, as {@link #LENGTH} US-ASCII bytes, without allocating.
+     *
+     * @param millis the date as the number of milliseconds since January 1, 1970 GMT
+     * @param buffer the array into which the date is formatted
+     * @param offset the index in the array of the first byte of the date
+     *
+     * @return the number of bytes written, which is {@link #LENGTH}
+     *
+     * @throws IllegalArgumentException if the date is not within the years 1 to 9999
+     * @throws IndexOutOfBoundsException if the array does not have {@link #LENGTH} bytes from offset
+     */
+    public static int format(long millis, byte[] buffer, int offset) {
+        long seconds = Math.floorDiv(millis, 1000);
+        if (seconds < MIN_SECONDS || seconds > MAX_SECONDS) {
+            throw new IllegalArgumentException("Date out of range: " + millis);
+        }
+        if (offset < 0 || offset > buffer.length - LENGTH) {
+            throw new IndexOutOfBoundsException("offset: " + offset);
+        }
+
+        long days = Math.floorDiv(seconds, 86400);
+        int secondOfDay = Math.floorMod(seconds, 86400);
+        int dayOfWeek = Math.floorMod(days + 4, 7); // January 1, 1970 was a Thursday
+
+        // civil from days, see http://howardhinnant.github.io/date_algorithms.html
+        long z = days + 719468;
+        long era = Math.floorDiv(z, 146097);
+        int dayOfEra = (int) (z - era * 146097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = (int) (yearOfEra + era * 400) + (month <= 2 ? 1 : 0);
+
+        int i = offset;
+        i = copy(DAYS, dayOfWeek * 3, buffer, i);
+        buffer[i++] = ',';
+        buffer[i++] = ' ';
+        i = digits(day, 2, buffer, i);
+        buffer[i++] = ' ';
+        i = copy(MONTHS, (month - 1) * 3, buffer, i);
+        buffer[i++] = ' ';
+        i = digits(year, 4, buffer, i);
+        buffer[i++] = ' ';
+        i = digits(secondOfDay / 3600, 2, buffer, i);
+        buffer[i++] = ':';
+        i = digits(secondOfDay / 60 % 60, 2, buffer, i);
+        buffer[i++] = ':';
+        i = digits(secondOfDay % 60, 2, buffer, i);
+        buffer[i++] = ' ';
+        buffer[i++] = 'G';
+        buffer[i++] = 'M';
+        buffer[i] = 'T';
+        return LENGTH;
+    }
+
+    /**
+     * Parses a date in any of the formats of RFC 9110. Leading and trailing whitespace is ignored.
+     *
+     * @param value the date to parse
+     *
+     * @return the date as the number of milliseconds since January 1, 1970 GMT, or -1 if the value cannot be parsed as a
+     * date
+     *
+     * @throws NullPointerException if value is null
+     */
+    public static long parse(String value) {
+        int index = (value.hashCode() & 0x7fffffff) % CACHE_SIZE;
+        Parsed parsed = PARSED[index];
+        if (parsed != null && parsed.value.equals(value)) {
+            return parsed.millis;
+        }
+        String trimmed = value.trim();
+        long millis = parseImfFixdate(trimmed);
+        if (millis == -1) {
+            millis = parseObsolete(trimmed);
+        }
+        PARSED[index] = new Parsed(value, millis);
+        return millis;
+    }
+
+    private static int copy(byte[] source, int from, byte[] buffer, int i) {
+        buffer[i++] = source[from];
+        buffer[i++] = source[from + 1];
+        buffer[i++] = source[from + 2];
+        return i;
+    }
+
+    private static int digits(int value, int count, byte[] buffer, int i) {
+        for (int j = i + count - 1; j >= i; j--) {
+            buffer[j] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return i + count;
+    }
+
+    /*
+     * Parses the IMF-fixdate format without allocation, returning -1 if the value is not in that format.
+     */
+    private static long parseImfFixdate(String value) {
+        if (value.length() != LENGTH || value.charAt(3) != ',' || value.charAt(4) != ' ' || value.charAt(7) != ' '
+                || value.charAt(11) != ' ' || value.charAt(16) != ' ' || value.charAt(19) != ':' || value.charAt(22) != ':'
+                || value.charAt(25) != ' ' || !value.startsWith("GMT", 26)) {
+            return -1;
+        }
+        int day = number(value, 5, 2);
+        int month = month(value, 8);
+        int year = number(value, 12, 4);
+        int hour = number(value, 17, 2);
+        int minute = number(value, 20, 2);
+        int second = number(value, 23, 2);
+        if (month < 1 || year < 1 || day < 1 || day > daysInMonth(year, month) || hour < 0 || hour > 23 || minute < 0
+                || minute > 59 || second < 0 || second > 59) {
+            return -1;
+        }
+        long days = daysFromCivil(year, month, day);
+        int dayOfWeek = Math.floorMod(days + 4, 7); // January 1, 1970 was a Thursday
+        if (value.charAt(0) != DAYS[dayOfWeek * 3] || value.charAt(1) != DAYS[dayOfWeek * 3 + 1]
+                || value.charAt(2) != DAYS[dayOfWeek * 3 + 2]) {
+            return -1;
+        }
+        return (days * 86400 + hour * 3600 + minute * 60 + second) * 1000;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+        case 2:
+            return year % 4 == 0 && (year % 100 != 0 || year % 400 == 0) ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    private static int number(String value, int from, int count) {
+        int n = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            n = n * 10 + digit;
+        }
+        return n;
+    }
+
+    private static int month(String value, int from) {
+        for (int i = 0; i < 12; i++) {
+            if (value.charAt(from) == MONTHS[i * 3] && value.charAt(from + 1) == MONTHS[i * 3 + 1]
+                    && value.charAt(from + 2) == MONTHS[i * 3 + 2]) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    // days from civil, see http://howardhinnant.github.io/date_algorithms.html
+    private static long daysFromCivil(int year, int month, int day) {
+        year -= month <= 2 ? 1 : 0;
+        long era = Math.floorDiv(year, 400);
+        int yearOfEra = (int) (year - era * 400);
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static long parseObsolete(String value) {
+        try {
+            return ZonedDateTime.parse(value, RFC_850).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            // try the asctime format
+        }
+        try {
+            return ZonedDateTime.parse(value, ASCTIME).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    private static final class Formatted {
+        private final long seconds;
+        private final String value;
+
+        Formatted(long seconds, String value) {
+            this.seconds = seconds;
+            this.value = value;
+        }
+    }
+
+    private static final class Parsed {
+        private final String value;
+        private final long millis;
+
+        Parsed(String value, long millis) {
+            this.value = value;
+            this.millis = millis;
+        }
+    }
+}
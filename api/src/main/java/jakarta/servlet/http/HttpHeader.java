@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.servlet.http;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The name of an HTTP header, with its case insensitive hash code computed once.
+ *
+ * <p>
+ * Constants are provided for the well-known headers, and {@link #of(String)} returns the constant for a well-known name
+ * or a new instance for any other name. Header names are case insensitive, so two instances are equal if their names
+ * only differ in case. Containers may use the hash code to look headers up without hashing or converting the name on
+ * each access, and may compare the well-known constants by identity.
+ *
+ * @see HttpServletRequest#getHeader(HttpHeader)
+ *
+ * @since Servlet 6.2
+ */
+public final class HttpHeader {
+
+    private static final Map<String, HttpHeader> WELL_KNOWN = new HashMap<>();
+
+    /** The <code>Accept</code> header. */
+    public static final HttpHeader ACCEPT = wellKnown("Accept");
+    /** The <code>Accept-Charset</code> header. */
+    public static final HttpHeader ACCEPT_CHARSET = wellKnown("Accept-Charset");
+    /** The <code>Accept-Encoding</code> header. */
+    public static final HttpHeader ACCEPT_ENCODING = wellKnown("Accept-Encoding");
+    /** The <code>Accept-Language</code> header. */
+    public static final HttpHeader ACCEPT_LANGUAGE = wellKnown("Accept-Language");
+    /** The <code>Authorization</code> header. */
+    public static final HttpHeader AUTHORIZATION = wellKnown("Authorization");
+    /** The <code>Cache-Control</code> header. */
+    public static final HttpHeader CACHE_CONTROL = wellKnown("Cache-Control");
+    /** The <code>Connection</code> header. */
+    public static final HttpHeader CONNECTION = wellKnown("Connection");
+    /** The <code>Content-Encoding</code> header. */
+    public static final HttpHeader CONTENT_ENCODING = wellKnown("Content-Encoding");
+    /** The <code>Content-Length</code> header. */
+    public static final HttpHeader CONTENT_LENGTH = wellKnown("Content-Length");
+    /** The <code>Content-Type</code> header. */
+    public static final HttpHeader CONTENT_TYPE = wellKnown("Content-Type");
+    /** The <code>Cookie</code> header. */
+    public static final HttpHeader COOKIE = wellKnown("Cookie");
+    /** The <code>Date</code> header. */
+    public static final HttpHeader DATE = wellKnown("Date");
+    /** The <code>Expect</code> header. */
+    public static final HttpHeader EXPECT = wellKnown("Expect");
+    /** The <code>Forwarded</code> header. */
+    public static final HttpHeader FORWARDED = wellKnown("Forwarded");
+    /** The <code>Host</code> header. */
+    public static final HttpHeader HOST = wellKnown("Host");
+    /** The <code>If-Match</code> header. */
+    public static final HttpHeader IF_MATCH = wellKnown("If-Match");
+    /** The <code>If-Modified-Since</code> header. */
+    public static final HttpHeader IF_MODIFIED_SINCE = wellKnown("If-Modified-Since");
+    /** The <code>If-None-Match</code> header. */
+    public static final HttpHeader IF_NONE_MATCH = wellKnown("If-None-Match");
+    /** The <code>If-Range</code> header. */
+    public static final HttpHeader IF_RANGE = wellKnown("If-Range");
+    /** The <code>If-Unmodified-Since</code> header. */
+    public static final HttpHeader IF_UNMODIFIED_SINCE = wellKnown("If-Unmodified-Since");
+    /** The <code>Origin</code> header. */
+    public static final HttpHeader ORIGIN = wellKnown("Origin");
+    /** The <code>Range</code> header. */
+    public static final HttpHeader RANGE = wellKnown("Range");
+    /** The <code>Referer</code> header. */
+    public static final HttpHeader REFERER = wellKnown("Referer");
+    /** The <code>TE</code> header. */
+    public static final HttpHeader TE = wellKnown("TE");
+    /** The <code>Transfer-Encoding</code> header. */
+    public static final HttpHeader TRANSFER_ENCODING = wellKnown("Transfer-Encoding");
+    /** The <code>Upgrade</code> header. */
+    public static final HttpHeader UPGRADE = wellKnown("Upgrade");
+    /** The <code>User-Agent</code> header. */
+    public static final HttpHeader USER_AGENT = wellKnown("User-Agent");
+    /** The <code>X-Forwarded-For</code> header. */
+    public static final HttpHeader X_FORWARDED_FOR = wellKnown("X-Forwarded-For");
+    /** The <code>X-Request-Id</code> header. */
+    public static final HttpHeader X_REQUEST_ID = wellKnown("X-Request-Id");
+
+    private final String name;
+    private final String lowerCaseName;
+    private final int hash;
+
+    private HttpHeader(String name) {
+        this.name = name;
+        this.lowerCaseName = name.toLowerCase(Locale.ENGLISH);
+        this.hash = lowerCaseName.hashCode();
+    }
+
+    private static HttpHeader wellKnown(String name) {
+        HttpHeader header = new HttpHeader(name);
+        WELL_KNOWN.put(header.lowerCaseName, header);
+        return header;
+    }
+
+    /**
+     * Returns the header of the given name: the constant if the name is that of a well-known header, in any case, or else
+     * a new instance.
+     *
+     * @param name the name of the header
+     *
+     * @return the header of the given name
+     *
+     * @throws NullPointerException if name is null
+     *
+     * @throws IllegalArgumentException if name is not a valid header name
+     *
+     * @see HttpSyntax#isToken(CharSequence)
+     */
+    public static HttpHeader of(String name) {
+        HttpHeader header = WELL_KNOWN.get(name.toLowerCase(Locale.ENGLISH));
+        if (header != null) {
+            return header;
+        }
+        if (!HttpSyntax.isToken(name)) {
+            throw new IllegalArgumentException("Invalid header name: " + name);
+        }
+        return new HttpHeader(name);
+    }
+
+    /**
+     * Returns the name of the header, in the case of the well-known header or as given to {@link #of(String)}.
+     *
+     * @return the name of the header
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the name of the header in lower case, as used by HTTP/2 and HTTP/3.
+     *
+     * @return the name of the header in lower case
+     */
+    public String getLowerCaseName() {
+        return lowerCaseName;
+    }
+
+    /**
+     * Returns whether the given name is the name of this header, ignoring case.
+     *
+     * @param name a header name
+     *
+     * @return <code>true</code> if the name is the name of this header
+     */
+    public boolean is(String name) {
+        return name != null && name.length() == this.name.length() && this.name.regionMatches(true, 0, name, 0, name.length());
+    }
+
+    /**
+     * Returns the hash code of the lower case name of the header, computed when the header was created.
+     *
+     * @return the hash code of the lower case name of the header
+     */
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof HttpHeader)) {
+            return false;
+        }
+        HttpHeader other = (HttpHeader) obj;
+        return hash == other.hash && lowerCaseName.equals(other.lowerCaseName);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -18,6 +18,10 @@
 
 package jakarta.servlet.http;
 
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ContentTooLargeException;
 import jakarta.servlet.GenericServlet;
 import jakarta.servlet.ServletConfig;
 import jakarta.servlet.ServletException;
@@ -25,17 +29,27 @@ import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
 import jakarta.servlet.WriteListener;
+import java.io.CharConversionException;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  *
@@ -60,6 +74,17 @@ import java.util.ResourceBundle;
  * Likewise, there's almost no reason to override the <code>doOptions</code> and <code>doTrace</code> methods.
  *
  * <p>
+ * Instead of a <code>do</code><i>XXX</i> method, a servlet may override the corresponding
+ * <code>do</code><i>XXX</i><code>Async</code> method that returns a {@link CompletionStage}. The request is then put into
+ * asynchronous mode before the method is called, so the servlet must support asynchronous operation. When the stage
+ * completes normally the {@link AsyncContext} is completed; when it completes exceptionally the failure is logged, a 500
+ * (Internal Server Error) is sent if the response is not committed and the {@link AsyncContext} is completed. A
+ * {@link ContentTooLargeException}, such as raised by {@link jakarta.servlet.ServletInputStream#readAllBytesAsync(long,
+ * long)}, is not logged and results in a 413 (Content Too Large) instead. If the asynchronous operation times out
+ * first, the stage is cancelled if possible, a 503 (Service Unavailable) is sent if the response is not committed and the
+ * result of the stage is ignored.
+ *
+ * <p>
  * Servlets typically run on multithreaded servers, so be aware that a servlet must handle concurrent requests and be
  * careful to synchronize access to shared resources. Shared resources include in-memory data such as instance or class
  * variables and external objects such as files, database connections, and network connections. See the
@@ -81,10 +106,20 @@ public abstract class HttpServlet extends GenericServlet {
     private static final String METHOD_TRACE = "TRACE";
 
     private static final String HEADER_IFMODSINCE = "If-Modified-Since";
+    private static final String HEADER_IFUNMODSINCE = "If-Unmodified-Since";
+    private static final String HEADER_IFMATCH = "If-Match";
+    private static final String HEADER_IFNONEMATCH = "If-None-Match";
     private static final String HEADER_LASTMOD = "Last-Modified";
+    private static final String HEADER_ETAG = "ETag";
+
+    private static final String CRLF = "\r\n";
+
+    // The largest buffer allocated to write the echo of a TRACE request
+    private static final int TRACE_BUFFER_SIZE = 8192;
 
     // Add headers in lower case as HTTP headers are case insensitive
     private static final List<String> SENSITIVE_HTTP_HEADERS = Arrays.asList("authorization", "cookie", "x-forwarded", "forwarded", "proxy-authorization");
+    private static final String[][] DEFAULT_SENSITIVE_HEADERS = compileSensitiveHeaders(SENSITIVE_HTTP_HEADERS);
 
     /**
      * The parameter obtained {@link ServletConfig#getInitParameter(String)} to determine if legacy processing of
@@ -96,10 +131,27 @@ public abstract class HttpServlet extends GenericServlet {
     @Deprecated(forRemoval = true, since = "Servlet 6.0")
     public static final String LEGACY_DO_HEAD = "jakarta.servlet.http.legacyDoHead";
 
+    /**
+     * The parameter obtained {@link ServletConfig#getInitParameter(String)} to replace the default comma separated list of
+     * header name prefixes that {@link #isSensitiveHeader(String)} considers sensitive.
+     *
+     * @since Servlet 6.2
+     */
+    public static final String SENSITIVE_HEADERS = "jakarta.servlet.http.sensitiveHeaders";
+
     private static final String LSTRING_FILE = "jakarta.servlet.http.LocalStrings";
     private static final ResourceBundle lStrings = ResourceBundle.getBundle(LSTRING_FILE);
 
+    // The overridden doXxx methods are a function of the servlet class only, so they are found once per class
+    private static final ClassValue<DeclaredMethods> DECLARED_METHODS = new ClassValue<>() {
+        @Override
+        protected DeclaredMethods computeValue(Class<?> type) {
+            return new DeclaredMethods(type);
+        }
+    };
+
     private boolean legacyHeadHandling;
+    private String[][] sensitiveHeaders = DEFAULT_SENSITIVE_HEADERS;
 
     /**
      * Does nothing, because this is an abstract class.
@@ -113,6 +165,10 @@ public abstract class HttpServlet extends GenericServlet {
     public void init(ServletConfig config) throws ServletException {
         super.init(config);
         legacyHeadHandling = Boolean.parseBoolean(config.getInitParameter(LEGACY_DO_HEAD));
+        String sensitiveHeaderList = config.getInitParameter(SENSITIVE_HEADERS);
+        if (sensitiveHeaderList != null) {
+            sensitiveHeaders = compileSensitiveHeaders(Arrays.asList(sensitiveHeaderList.split(",")));
+        }
     }
 
     /**
@@ -167,9 +223,43 @@ public abstract class HttpServlet extends GenericServlet {
      * @see jakarta.servlet.ServletResponse#setContentType
      */
     protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        if (DECLARED_METHODS.get(getClass()).getAsync) {
+            serviceAsync(req, resp, this::doGetAsync);
+            return;
+        }
+        String protocol = req.getProtocol();
+        String msg = lStrings.getString("http.method_get_not_supported");
+        resp.sendError(getMethodNotSupportedCode(protocol), msg);
+    }
+
+    /**
+     * Called by the server (via the <code>doGet</code> method) to allow a servlet to handle a GET request asynchronously.
+     *
+     * <p>
+     * If this method is overridden, the default implementation of {@link #doGet(HttpServletRequest, HttpServletResponse)}
+     * puts the request into asynchronous mode before calling this method, and completes the {@link AsyncContext} when the
+     * returned stage completes. See {@link #doGet(HttpServletRequest, HttpServletResponse)} for the requirements on the
+     * handling of the request, and the class documentation for the handling of the returned stage.
+     *
+     * @param req an {@link HttpServletRequest} object that contains the request the client has made of the servlet
+     *
+     * @param resp an {@link HttpServletResponse} object that contains the response the servlet sends to the client
+     *
+     * @return a stage that completes when the response has been generated, or <code>null</code> if it has been generated
+     * before this method returns
+     *
+     * @throws IOException if an input or output error is detected when the servlet starts handling the request
+     *
+     * @throws ServletException if the request could not be handled
+     *
+     * @since Servlet 6.2
+     */
+    protected CompletionStage<Void> doGetAsync(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
         String protocol = req.getProtocol();
         String msg = lStrings.getString("http.method_get_not_supported");
         resp.sendError(getMethodNotSupportedCode(protocol), msg);
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
@@ -181,6 +271,12 @@ public abstract class HttpServlet extends GenericServlet {
      * Servlets that support HTTP GET requests and can quickly determine their last modification time should override this
      * method. This makes browser and proxy caches work more effectively, reducing the load on server and network resources.
      *
+     * <p>
+     * When this method returns a modification time, the <code>service</code> method answers GET and HEAD requests with a
+     * 304 (Not Modified) status if the <code>If-Modified-Since</code> precondition is not met and, as of Servlet 6.2, with
+     * a 412 (Precondition Failed) status if the request has no <code>If-Match</code> header and the resource was modified
+     * after the time given by its <code>If-Unmodified-Since</code> header.
+     *
      * @param req the <code>HttpServletRequest</code> object that is sent to the servlet
      *
      * @return a <code>long</code> integer specifying the time the <code>HttpServletRequest</code> object was last modified,
@@ -190,6 +286,30 @@ public abstract class HttpServlet extends GenericServlet {
         return -1;
     }
 
+    /**
+     * Returns the entity tag of the current representation of the resource targeted by the request, including the
+     * surrounding double quotes and the <code>W/</code> prefix if the tag is weak, for example <code>"xyzzy"</code> or
+     * <code>W/"xyzzy"</code>. If the entity tag is unknown, this method returns <code>null</code> (the default).
+     *
+     * <p>
+     * Servlets that can quickly determine the entity tag of a resource, for example from a version number or a cached
+     * digest, should override this method. When an entity tag is returned, the <code>service</code> method evaluates the
+     * <code>If-Match</code>, <code>If-None-Match</code>, <code>If-Unmodified-Since</code> and <code>If-Modified-Since</code>
+     * preconditions as defined by RFC 9110, together with {@link #getLastModified(HttpServletRequest)}, and answers with a
+     * 304 (Not Modified) or 412 (Precondition Failed) status without calling the <code>do</code><i>XXX</i> method when a
+     * precondition is not met. The preconditions of unsafe methods such as PUT and DELETE are only evaluated when this
+     * method returns an entity tag, otherwise they are left to the servlet.
+     *
+     * @param req the <code>HttpServletRequest</code> object that is sent to the servlet
+     *
+     * @return the entity tag of the current representation of the target resource, or <code>null</code> if it is not known
+     *
+     * @since Servlet 6.2
+     */
+    protected String getETag(HttpServletRequest req) {
+        return null;
+    }
+
     /**
      *
      *
@@ -206,7 +326,13 @@ public abstract class HttpServlet extends GenericServlet {
      * <p>
      * The default implementation calls {@link #doGet(HttpServletRequest, HttpServletResponse)}. If the
      * {@link ServletConfig} init parameter {@link #LEGACY_DO_HEAD} is set to "TRUE", then the response instance is wrapped
-     * so that the response body is discarded.
+     * so that the response body is discarded and its length is counted without being encoded. If the GET request is
+     * handled by {@link #doGetAsync(HttpServletRequest, HttpServletResponse)}, the length is set once the returned stage
+     * completes.
+     *
+     * <p>
+     * If {@link #getContentLengthForHead(HttpServletRequest)} returns a content length, the default implementation sets it
+     * on the response and does not call {@link #doGet(HttpServletRequest, HttpServletResponse)} at all.
      *
      * <p>
      * If the HTTP HEAD request is incorrectly formatted, <code>doHead</code> returns an HTTP "Bad Request" message.
@@ -220,15 +346,41 @@ public abstract class HttpServlet extends GenericServlet {
      * @throws ServletException if the request for the HEAD could not be handled
      */
     protected void doHead(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        if (legacyHeadHandling) {
+        long contentLength = getContentLengthForHead(req);
+        if (contentLength >= 0) {
+            resp.setContentLengthLong(contentLength);
+        } else if (legacyHeadHandling) {
             NoBodyResponse response = new NoBodyResponse(resp);
             doGet(req, response);
-            response.setContentLength();
+            // the length of an asynchronous GET is set once its stage completes
+            if (!req.isAsyncStarted()) {
+                response.setContentLength();
+            }
         } else {
             doGet(req, resp);
         }
     }
 
+    /**
+     * Returns the length in bytes of the body that {@link #doGet(HttpServletRequest, HttpServletResponse)} would send for
+     * the request, or a negative number if the length is not known (the default).
+     *
+     * <p>
+     * Servlets that can determine the length of a response without generating it, for example from the size of a file or
+     * of a cached representation, should override this method so that HEAD requests are answered by
+     * {@link #doHead(HttpServletRequest, HttpServletResponse)} without running <code>doGet</code>. Only the Content-Length
+     * header is set in that case, other headers such as Content-Type should be set by overriding <code>doHead</code>.
+     *
+     * @param req the <code>HttpServletRequest</code> object that is sent to the servlet
+     *
+     * @return the length of the response body to a GET request in bytes, or -1 if the length is not known
+     *
+     * @since Servlet 6.2
+     */
+    protected long getContentLengthForHead(HttpServletRequest req) {
+        return -1;
+    }
+
     /**
      *
      * Called by the server (via the <code>service</code> method) to allow a servlet to handle a PATCH request.
@@ -277,9 +429,43 @@ public abstract class HttpServlet extends GenericServlet {
      * @since Servlet 6.1
      */
     protected void doPatch(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        if (DECLARED_METHODS.get(getClass()).patchAsync) {
+            serviceAsync(req, resp, this::doPatchAsync);
+            return;
+        }
+        String protocol = req.getProtocol();
+        String msg = lStrings.getString("http.method_patch_not_supported");
+        resp.sendError(getMethodNotSupportedCode(protocol), msg);
+    }
+
+    /**
+     * Called by the server (via the <code>doPatch</code> method) to allow a servlet to handle a PATCH request asynchronously.
+     *
+     * <p>
+     * If this method is overridden, the default implementation of {@link #doPatch(HttpServletRequest, HttpServletResponse)}
+     * puts the request into asynchronous mode before calling this method, and completes the {@link AsyncContext} when the
+     * returned stage completes. See {@link #doPatch(HttpServletRequest, HttpServletResponse)} for the requirements on the
+     * handling of the request, and the class documentation for the handling of the returned stage.
+     *
+     * @param req an {@link HttpServletRequest} object that contains the request the client has made of the servlet
+     *
+     * @param resp an {@link HttpServletResponse} object that contains the response the servlet sends to the client
+     *
+     * @return a stage that completes when the response has been generated, or <code>null</code> if it has been generated
+     * before this method returns
+     *
+     * @throws IOException if an input or output error is detected when the servlet starts handling the request
+     *
+     * @throws ServletException if the request could not be handled
+     *
+     * @since Servlet 6.2
+     */
+    protected CompletionStage<Void> doPatchAsync(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
         String protocol = req.getProtocol();
         String msg = lStrings.getString("http.method_patch_not_supported");
         resp.sendError(getMethodNotSupportedCode(protocol), msg);
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
@@ -329,11 +515,45 @@ public abstract class HttpServlet extends GenericServlet {
      * @see jakarta.servlet.ServletResponse#setContentType
      */
     protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        if (DECLARED_METHODS.get(getClass()).postAsync) {
+            serviceAsync(req, resp, this::doPostAsync);
+            return;
+        }
         String protocol = req.getProtocol();
         String msg = lStrings.getString("http.method_post_not_supported");
         resp.sendError(getMethodNotSupportedCode(protocol), msg);
     }
 
+    /**
+     * Called by the server (via the <code>doPost</code> method) to allow a servlet to handle a POST request asynchronously.
+     *
+     * <p>
+     * If this method is overridden, the default implementation of {@link #doPost(HttpServletRequest, HttpServletResponse)}
+     * puts the request into asynchronous mode before calling this method, and completes the {@link AsyncContext} when the
+     * returned stage completes. See {@link #doPost(HttpServletRequest, HttpServletResponse)} for the requirements on the
+     * handling of the request, and the class documentation for the handling of the returned stage.
+     *
+     * @param req an {@link HttpServletRequest} object that contains the request the client has made of the servlet
+     *
+     * @param resp an {@link HttpServletResponse} object that contains the response the servlet sends to the client
+     *
+     * @return a stage that completes when the response has been generated, or <code>null</code> if it has been generated
+     * before this method returns
+     *
+     * @throws IOException if an input or output error is detected when the servlet starts handling the request
+     *
+     * @throws ServletException if the request could not be handled
+     *
+     * @since Servlet 6.2
+     */
+    protected CompletionStage<Void> doPostAsync(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
+        String protocol = req.getProtocol();
+        String msg = lStrings.getString("http.method_post_not_supported");
+        resp.sendError(getMethodNotSupportedCode(protocol), msg);
+        return CompletableFuture.completedFuture(null);
+    }
+
     /**
      * Called by the server (via the <code>service</code> method) to allow a servlet to handle a PUT request.
      *
@@ -363,9 +583,43 @@ public abstract class HttpServlet extends GenericServlet {
      * @throws ServletException if the request for the PUT cannot be handled
      */
     protected void doPut(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        if (DECLARED_METHODS.get(getClass()).putAsync) {
+            serviceAsync(req, resp, this::doPutAsync);
+            return;
+        }
+        String protocol = req.getProtocol();
+        String msg = lStrings.getString("http.method_put_not_supported");
+        resp.sendError(getMethodNotSupportedCode(protocol), msg);
+    }
+
+    /**
+     * Called by the server (via the <code>doPut</code> method) to allow a servlet to handle a PUT request asynchronously.
+     *
+     * <p>
+     * If this method is overridden, the default implementation of {@link #doPut(HttpServletRequest, HttpServletResponse)}
+     * puts the request into asynchronous mode before calling this method, and completes the {@link AsyncContext} when the
+     * returned stage completes. See {@link #doPut(HttpServletRequest, HttpServletResponse)} for the requirements on the
+     * handling of the request, and the class documentation for the handling of the returned stage.
+     *
+     * @param req an {@link HttpServletRequest} object that contains the request the client has made of the servlet
+     *
+     * @param resp an {@link HttpServletResponse} object that contains the response the servlet sends to the client
+     *
+     * @return a stage that completes when the response has been generated, or <code>null</code> if it has been generated
+     * before this method returns
+     *
+     * @throws IOException if an input or output error is detected when the servlet starts handling the request
+     *
+     * @throws ServletException if the request could not be handled
+     *
+     * @since Servlet 6.2
+     */
+    protected CompletionStage<Void> doPutAsync(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
         String protocol = req.getProtocol();
         String msg = lStrings.getString("http.method_put_not_supported");
         resp.sendError(getMethodNotSupportedCode(protocol), msg);
+        return CompletableFuture.completedFuture(null);
     }
 
     /**
@@ -390,9 +644,43 @@ public abstract class HttpServlet extends GenericServlet {
      * @throws ServletException if the request for the DELETE cannot be handled
      */
     protected void doDelete(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+        if (DECLARED_METHODS.get(getClass()).deleteAsync) {
+            serviceAsync(req, resp, this::doDeleteAsync);
+            return;
+        }
+        String protocol = req.getProtocol();
+        String msg = lStrings.getString("http.method_delete_not_supported");
+        resp.sendError(getMethodNotSupportedCode(protocol), msg);
+    }
+
+    /**
+     * Called by the server (via the <code>doDelete</code> method) to allow a servlet to handle a DELETE request asynchronously.
+     *
+     * <p>
+     * If this method is overridden, the default implementation of {@link #doDelete(HttpServletRequest, HttpServletResponse)}
+     * puts the request into asynchronous mode before calling this method, and completes the {@link AsyncContext} when the
+     * returned stage completes. See {@link #doDelete(HttpServletRequest, HttpServletResponse)} for the requirements on the
+     * handling of the request, and the class documentation for the handling of the returned stage.
+     *
+     * @param req an {@link HttpServletRequest} object that contains the request the client has made of the servlet
+     *
+     * @param resp an {@link HttpServletResponse} object that contains the response the servlet sends to the client
+     *
+     * @return a stage that completes when the response has been generated, or <code>null</code> if it has been generated
+     * before this method returns
+     *
+     * @throws IOException if an input or output error is detected when the servlet starts handling the request
+     *
+     * @throws ServletException if the request could not be handled
+     *
+     * @since Servlet 6.2
+     */
+    protected CompletionStage<Void> doDeleteAsync(HttpServletRequest req, HttpServletResponse resp)
+            throws ServletException, IOException {
         String protocol = req.getProtocol();
         String msg = lStrings.getString("http.method_delete_not_supported");
         resp.sendError(getMethodNotSupportedCode(protocol), msg);
+        return CompletableFuture.completedFuture(null);
     }
 
     private int getMethodNotSupportedCode(String protocol) {
@@ -405,26 +693,100 @@ public abstract class HttpServlet extends GenericServlet {
         }
     }
 
-    private Method[] getAllDeclaredMethods(Class<? extends HttpServlet> c) {
-
-        Class<?> clazz = c;
-        Method[] allMethods = null;
-
-        while (!clazz.equals(HttpServlet.class)) {
-            Method[] thisMethods = clazz.getDeclaredMethods();
-            if (allMethods != null && allMethods.length > 0) {
-                Method[] subClassMethods = allMethods;
-                allMethods = new Method[thisMethods.length + subClassMethods.length];
-                System.arraycopy(thisMethods, 0, allMethods, 0, thisMethods.length);
-                System.arraycopy(subClassMethods, 0, allMethods, thisMethods.length, subClassMethods.length);
-            } else {
-                allMethods = thisMethods;
+    /*
+     * The doXxx and doXxxAsync methods declared between a servlet class and HttpServlet, together with the resulting value
+     * of the Allow header. Instances are only created once per class and cached in DECLARED_METHODS.
+     */
+    private static final class DeclaredMethods {
+        private final boolean getAsync;
+        private final boolean postAsync;
+        private final boolean putAsync;
+        private final boolean deleteAsync;
+        private final boolean patchAsync;
+        private final String allow;
+
+        DeclaredMethods(Class<?> c) {
+            boolean allowGet = false;
+            boolean allowPost = false;
+            boolean allowPatch = false;
+            boolean allowPut = false;
+            boolean allowDelete = false;
+            boolean getAsync = false;
+            boolean postAsync = false;
+            boolean putAsync = false;
+            boolean deleteAsync = false;
+            boolean patchAsync = false;
+
+            for (Class<?> clazz = c; clazz != null && !clazz.equals(HttpServlet.class); clazz = clazz.getSuperclass()) {
+                for (Method method : clazz.getDeclaredMethods()) {
+                    switch (method.getName()) {
+                    case "doGet":
+                        allowGet = true;
+                        break;
+                    case "doGetAsync":
+                        allowGet = true;
+                        getAsync = true;
+                        break;
+                    case "doPost":
+                        allowPost = true;
+                        break;
+                    case "doPostAsync":
+                        allowPost = true;
+                        postAsync = true;
+                        break;
+                    case "doPut":
+                        allowPut = true;
+                        break;
+                    case "doPutAsync":
+                        allowPut = true;
+                        putAsync = true;
+                        break;
+                    case "doDelete":
+                        allowDelete = true;
+                        break;
+                    case "doDeleteAsync":
+                        allowDelete = true;
+                        deleteAsync = true;
+                        break;
+                    case "doPatch":
+                        allowPatch = true;
+                        break;
+                    case "doPatchAsync":
+                        allowPatch = true;
+                        patchAsync = true;
+                        break;
+                    default:
+                        break;
+                    }
+                }
             }
 
-            clazz = clazz.getSuperclass();
+            StringBuilder allow = new StringBuilder();
+            if (allowGet) {
+                allow.append(METHOD_GET).append(", ").append(METHOD_HEAD).append(", ");
+            }
+            if (allowPatch) {
+                allow.append(METHOD_PATCH).append(", ");
+            }
+            if (allowPost) {
+                allow.append(METHOD_POST).append(", ");
+            }
+            if (allowPut) {
+                allow.append(METHOD_PUT).append(", ");
+            }
+            if (allowDelete) {
+                allow.append(METHOD_DELETE).append(", ");
+            }
+            // TRACE and OPTIONS are always allowed
+            allow.append(METHOD_TRACE).append(", ").append(METHOD_OPTIONS);
+
+            this.getAsync = getAsync;
+            this.postAsync = postAsync;
+            this.putAsync = putAsync;
+            this.deleteAsync = deleteAsync;
+            this.patchAsync = patchAsync;
+            this.allow = allow.toString();
         }
-
-        return ((allMethods != null) ? allMethods : new Method[0]);
     }
 
     /**
@@ -449,85 +811,7 @@ public abstract class HttpServlet extends GenericServlet {
      * @throws ServletException if the request for the OPTIONS cannot be handled
      */
     protected void doOptions(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
-        Method[] methods = getAllDeclaredMethods(this.getClass());
-
-        boolean ALLOW_GET = false;
-        boolean ALLOW_HEAD = false;
-        boolean ALLOW_POST = false;
-        boolean ALLOW_PATCH = false;
-        boolean ALLOW_PUT = false;
-        boolean ALLOW_DELETE = false;
-        boolean ALLOW_TRACE = true;
-        boolean ALLOW_OPTIONS = true;
-
-        for (int i = 0; i < methods.length; i++) {
-            String methodName = methods[i].getName();
-
-            if (methodName.equals("doGet")) {
-                ALLOW_GET = true;
-                ALLOW_HEAD = true;
-            } else if (methodName.equals("doPost")) {
-                ALLOW_POST = true;
-            } else if (methodName.equals("doPut")) {
-                ALLOW_PUT = true;
-            } else if (methodName.equals("doDelete")) {
-                ALLOW_DELETE = true;
-            } else if (methodName.equals("doPatch")) {
-                ALLOW_PATCH = true;
-            }
-
-        }
-
-        // we know "allow" is not null as ALLOW_OPTIONS = true
-        // when this method is invoked
-        StringBuilder allow = new StringBuilder();
-        if (ALLOW_GET) {
-            allow.append(METHOD_GET);
-        }
-        if (ALLOW_HEAD) {
-            if (allow.length() > 0) {
-                allow.append(", ");
-            }
-            allow.append(METHOD_HEAD);
-        }
-        if (ALLOW_PATCH) {
-            if (allow.length() > 0) {
-                allow.append(", ");
-            }
-            allow.append(METHOD_PATCH);
-        }
-        if (ALLOW_POST) {
-            if (allow.length() > 0) {
-                allow.append(", ");
-            }
-            allow.append(METHOD_POST);
-        }
-        if (ALLOW_PUT) {
-            if (allow.length() > 0) {
-                allow.append(", ");
-            }
-            allow.append(METHOD_PUT);
-        }
-        if (ALLOW_DELETE) {
-            if (allow.length() > 0) {
-                allow.append(", ");
-            }
-            allow.append(METHOD_DELETE);
-        }
-        if (ALLOW_TRACE) {
-            if (allow.length() > 0) {
-                allow.append(", ");
-            }
-            allow.append(METHOD_TRACE);
-        }
-        if (ALLOW_OPTIONS) {
-            if (allow.length() > 0) {
-                allow.append(", ");
-            }
-            allow.append(METHOD_OPTIONS);
-        }
-
-        resp.setHeader("Allow", allow.toString());
+        resp.setHeader("Allow", DECLARED_METHODS.get(getClass()).allow);
     }
 
     /**
@@ -547,35 +831,70 @@ public abstract class HttpServlet extends GenericServlet {
      */
     protected void doTrace(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
 
-        int responseLength;
-
-        String CRLF = "\r\n";
-        StringBuilder buffer = new StringBuilder("TRACE ").append(req.getRequestURI()).append(" ")
-                .append(req.getProtocol());
-
-        Enumeration<String> reqHeaderEnum = req.getHeaderNames();
-
-        while (reqHeaderEnum.hasMoreElements()) {
-            String headerName = reqHeaderEnum.nextElement();
+        String requestURI = String.valueOf(req.getRequestURI());
+        String protocol = String.valueOf(req.getProtocol());
 
+        // First pass to compute the content length, so that the echo can be streamed rather than buffered
+        long responseLength = "TRACE ".length() + requestURI.length() + 1 + protocol.length() + CRLF.length();
+        for (Enumeration<String> names = req.getHeaderNames(); names.hasMoreElements();) {
+            String headerName = names.nextElement();
             if (isSensitiveHeader(headerName)) {
                 continue;
             }
-            Enumeration<String> headerValues = req.getHeaders(headerName);
-            while (headerValues.hasMoreElements()) {
-                String headerValue = headerValues.nextElement();
-                buffer.append(CRLF).append(headerName).append(": ").append(headerValue);
+            for (Enumeration<String> values = req.getHeaders(headerName); values.hasMoreElements();) {
+                responseLength += CRLF.length() + headerName.length() + 2 + values.nextElement().length();
             }
         }
 
-        buffer.append(CRLF);
-
-        responseLength = buffer.length();
-
         resp.setContentType("message/http");
-        resp.setContentLength(responseLength);
+        resp.setContentLengthLong(responseLength);
         ServletOutputStream out = resp.getOutputStream();
-        out.print(buffer.toString());
+
+        // the echo is encoded into a bounded buffer, written with as few calls as its length allows
+        byte[] buffer = new byte[(int) Math.min(responseLength, TRACE_BUFFER_SIZE)];
+        int pos = putLatin1(out, buffer, 0, "TRACE ");
+        pos = putLatin1(out, buffer, pos, requestURI);
+        pos = putLatin1(out, buffer, pos, " ");
+        pos = putLatin1(out, buffer, pos, protocol);
+        for (Enumeration<String> names = req.getHeaderNames(); names.hasMoreElements();) {
+            String headerName = names.nextElement();
+            if (isSensitiveHeader(headerName)) {
+                continue;
+            }
+            for (Enumeration<String> values = req.getHeaders(headerName); values.hasMoreElements();) {
+                pos = putLatin1(out, buffer, pos, CRLF);
+                pos = putLatin1(out, buffer, pos, headerName);
+                pos = putLatin1(out, buffer, pos, ": ");
+                pos = putLatin1(out, buffer, pos, values.nextElement());
+            }
+        }
+        pos = putLatin1(out, buffer, pos, CRLF);
+        if (pos > 0) {
+            out.write(buffer, 0, pos);
+        }
+    }
+
+    /*
+     * Puts a String into the buffer at the given position one ISO-8859-1 byte per character, writing the buffer to the
+     * stream whenever it is full. Returns the position after the last byte put.
+     */
+    private static int putLatin1(ServletOutputStream out, byte[] buffer, int pos, String s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if ((c & 0xff00) != 0) { // high order byte must be zero
+                String errMsg = lStrings.getString("err.not_iso8859_1");
+                Object[] errArgs = new Object[1];
+                errArgs[0] = Character.valueOf(c);
+                errMsg = MessageFormat.format(errMsg, errArgs);
+                throw new CharConversionException(errMsg);
+            }
+            if (pos == buffer.length) {
+                out.write(buffer, 0, pos);
+                pos = 0;
+            }
+            buffer[pos++] = (byte) c;
+        }
+        return pos;
     }
 
     /**
@@ -593,6 +912,9 @@ public abstract class HttpServlet extends GenericServlet {
      * </ul>
      *
      * <p>
+     * The list of prefixes may be replaced with the {@link ServletConfig} init parameter {@link #SENSITIVE_HEADERS}.
+     *
+     * <p>
      * Note that HTTP header names are case insensitive.
      *
      * @param headerName the name of the HTTP request header to test
@@ -603,8 +925,48 @@ public abstract class HttpServlet extends GenericServlet {
      * @since Servlet 6.1
      */
     protected boolean isSensitiveHeader(String headerName) {
-        String lcHeaderName = headerName.toLowerCase(Locale.ENGLISH);
-        return SENSITIVE_HTTP_HEADERS.parallelStream().anyMatch(header -> lcHeaderName.startsWith(header));
+        if (headerName.isEmpty()) {
+            return false;
+        }
+        char first = headerName.charAt(0);
+        if (first >= 'A' && first <= 'Z') {
+            first += 'a' - 'A';
+        } else if (first >= 0x80) {
+            return false;
+        }
+        String[] prefixes = sensitiveHeaders[first];
+        if (prefixes != null) {
+            for (String prefix : prefixes) {
+                if (headerName.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Compiles a list of sensitive header name prefixes into a table of lower case prefixes indexed by their first
+     * character, so that a header name is only compared against the prefixes that can possibly match it. Header names are
+     * tokens, so prefixes that do not start with an ASCII character can never match and are dropped.
+     */
+    private static String[][] compileSensitiveHeaders(List<String> headers) {
+        String[][] table = new String[0x80][];
+        for (String header : headers) {
+            String prefix = header.trim().toLowerCase(Locale.ENGLISH);
+            if (prefix.isEmpty() || prefix.charAt(0) >= 0x80) {
+                continue;
+            }
+            String[] bucket = table[prefix.charAt(0)];
+            if (bucket == null) {
+                bucket = new String[] { prefix };
+            } else {
+                bucket = Arrays.copyOf(bucket, bucket.length + 1);
+                bucket[bucket.length - 1] = prefix;
+            }
+            table[prefix.charAt(0)] = bucket;
+        }
+        return table;
     }
 
     /**
@@ -625,49 +987,68 @@ public abstract class HttpServlet extends GenericServlet {
     protected void service(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
         String method = req.getMethod();
 
-        if (method.equals(METHOD_GET)) {
+        switch (method) {
+        case METHOD_GET: {
+            String etag = getETag(req);
             long lastModified = getLastModified(req);
-            if (lastModified == -1) {
-                // servlet doesn't support if-modified-since, no reason
+            if (etag == null && lastModified == -1) {
+                // servlet doesn't support conditional requests, no reason
                 // to go through further expensive logic
                 doGet(req, resp);
-            } else {
-                long ifModifiedSince = req.getDateHeader(HEADER_IFMODSINCE);
-                if (ifModifiedSince < lastModified) {
-                    // If the servlet mod time is later, call doGet()
-                    // Round down to the nearest second for a proper compare
-                    // A ifModifiedSince of -1 will always be less
-                    maybeSetLastModified(resp, lastModified);
-                    doGet(req, resp);
-                } else {
-                    resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
-                }
+            } else if (checkPreconditions(req, resp, true, etag, lastModified)) {
+                maybeSetLastModified(resp, lastModified);
+                maybeSetETag(resp, etag);
+                doGet(req, resp);
             }
+            break;
+        }
 
-        } else if (method.equals(METHOD_HEAD)) {
+        case METHOD_HEAD: {
+            String etag = getETag(req);
             long lastModified = getLastModified(req);
-            maybeSetLastModified(resp, lastModified);
-            doHead(req, resp);
+            if (etag == null && lastModified == -1) {
+                doHead(req, resp);
+            } else if (checkPreconditions(req, resp, true, etag, lastModified)) {
+                maybeSetLastModified(resp, lastModified);
+                maybeSetETag(resp, etag);
+                doHead(req, resp);
+            }
+            break;
+        }
 
-        } else if (method.equals(METHOD_POST)) {
-            doPost(req, resp);
+        case METHOD_POST:
+            if (checkUnsafePreconditions(req, resp)) {
+                doPost(req, resp);
+            }
+            break;
 
-        } else if (method.equals(METHOD_PUT)) {
-            doPut(req, resp);
+        case METHOD_PUT:
+            if (checkUnsafePreconditions(req, resp)) {
+                doPut(req, resp);
+            }
+            break;
 
-        } else if (method.equals(METHOD_DELETE)) {
-            doDelete(req, resp);
+        case METHOD_DELETE:
+            if (checkUnsafePreconditions(req, resp)) {
+                doDelete(req, resp);
+            }
+            break;
 
-        } else if (method.equals(METHOD_OPTIONS)) {
+        case METHOD_OPTIONS:
             doOptions(req, resp);
+            break;
 
-        } else if (method.equals(METHOD_TRACE)) {
+        case METHOD_TRACE:
             doTrace(req, resp);
+            break;
 
-        } else if (method.equals(METHOD_PATCH)) {
-            doPatch(req, resp);
+        case METHOD_PATCH:
+            if (checkUnsafePreconditions(req, resp)) {
+                doPatch(req, resp);
+            }
+            break;
 
-        } else {
+        default:
             //
             // Note that this means NO servlet supports whatever
             // method was requested, anywhere on this server.
@@ -682,6 +1063,117 @@ public abstract class HttpServlet extends GenericServlet {
         }
     }
 
+    /*
+     * A doXxxAsync method.
+     */
+    private interface AsyncHandler {
+        CompletionStage<Void> handle(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException;
+    }
+
+    /*
+     * Puts the request into asynchronous mode, calls the handler and completes the async cycle when the stage returned by
+     * the handler completes. Only the first of the stage completion, a timeout or an error ends the cycle, so that a stage
+     * completing late never touches a recycled request or response.
+     */
+    private void serviceAsync(HttpServletRequest req, HttpServletResponse resp, AsyncHandler handler)
+            throws ServletException, IOException {
+        AsyncContext asyncContext = req.isAsyncStarted() ? req.getAsyncContext() : req.startAsync(req, resp);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<CompletionStage<Void>> stage = new AtomicReference<>();
+
+        asyncContext.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                done.set(true);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) throws IOException {
+                if (done.compareAndSet(false, true)) {
+                    CompletionStage<Void> pending = stage.get();
+                    if (pending != null) {
+                        try {
+                            pending.toCompletableFuture().cancel(false);
+                        } catch (UnsupportedOperationException e) {
+                            // the stage cannot be cancelled, its result will be ignored
+                        }
+                    }
+                    HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+                    if (!response.isCommitted()) {
+                        response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                    }
+                    event.getAsyncContext().complete();
+                }
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                // the container completes the cycle after an error
+                done.set(true);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        }, req, resp);
+
+        CompletionStage<Void> result;
+        try {
+            result = handler.handle(req, resp);
+        } catch (ServletException | IOException | RuntimeException e) {
+            done.set(true);
+            throw e;
+        }
+
+        if (result == null) {
+            if (done.compareAndSet(false, true)) {
+                setNoBodyContentLength(resp);
+                asyncContext.complete();
+            }
+            return;
+        }
+
+        stage.set(result);
+        result.whenComplete((v, failure) -> {
+            if (!done.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (failure != null) {
+                    Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause()
+                            : failure;
+                    if (cause instanceof ContentTooLargeException) {
+                        if (!resp.isCommitted()) {
+                            resp.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+                        }
+                    } else {
+                        log(cause.toString(), cause);
+                        if (!resp.isCommitted()) {
+                            resp.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                        }
+                    }
+                } else {
+                    setNoBodyContentLength(resp);
+                }
+            } catch (IOException | RuntimeException e) {
+                log(e.toString(), e);
+            } finally {
+                asyncContext.complete();
+            }
+        });
+    }
+
+    /*
+     * Sets the length counted by the response of a legacy HEAD request, once the asynchronous GET has generated it.
+     */
+    @SuppressWarnings("removal")
+    private static void setNoBodyContentLength(HttpServletResponse resp) {
+        if (resp instanceof NoBodyResponse) {
+            ((NoBodyResponse) resp).setContentLength();
+        }
+    }
+
     /*
      * Sets the Last-Modified entity header field, if it has not already been set and if the value is meaningful. Called
      * before doGet, to ensure that headers are set before response data is written. A subclass might have set this header
@@ -694,6 +1186,145 @@ public abstract class HttpServlet extends GenericServlet {
             resp.setDateHeader(HEADER_LASTMOD, lastModified);
     }
 
+    /*
+     * Sets the ETag header field, if it has not already been set and if the servlet provided an entity tag.
+     */
+    private void maybeSetETag(HttpServletResponse resp, String etag) {
+        if (etag != null && !resp.containsHeader(HEADER_ETAG))
+            resp.setHeader(HEADER_ETAG, etag);
+    }
+
+    /*
+     * Evaluates the preconditions of an unsafe method. The validators are only looked up if the request carries a
+     * precondition, and the preconditions are only evaluated if the servlet provides an entity tag, as servlets that predate
+     * getETag may evaluate them in their doXxx methods.
+     */
+    private boolean checkUnsafePreconditions(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        if (req.getHeader(HEADER_IFMATCH) == null && req.getHeader(HEADER_IFNONEMATCH) == null
+                && req.getHeader(HEADER_IFUNMODSINCE) == null) {
+            return true;
+        }
+        String etag = getETag(req);
+        if (etag == null) {
+            return true;
+        }
+        return checkPreconditions(req, resp, false, etag, getLastModified(req));
+    }
+
+    /*
+     * Evaluates the preconditions of a request in the order defined by RFC 9110 section 13.2.2. Returns true if the
+     * request should be processed, otherwise the response has been completed with a 304 or a 412 status. Without an entity
+     * tag, the entity tag preconditions are left to the servlet, If-Unmodified-Since is only evaluated if there is no
+     * If-Match, and If-Modified-Since is evaluated as it always has been.
+     */
+    private boolean checkPreconditions(HttpServletRequest req, HttpServletResponse resp, boolean safe, String etag,
+            long lastModified) throws IOException {
+        // HTTP dates have a resolution of one second
+        long lastModifiedSeconds = lastModified >= 0 ? lastModified / 1000 * 1000 : -1;
+
+        // If-Unmodified-Since is only evaluated without If-Match, which is left to the servlet without an entity tag
+        Enumeration<String> ifMatch = req.getHeaders(HEADER_IFMATCH);
+        if (ifMatch != null && ifMatch.hasMoreElements()) {
+            if (etag != null && !matchesETag(ifMatch, etag, false)) {
+                resp.sendError(HttpServletResponse.SC_PRECONDITION_FAILED);
+                return false;
+            }
+        } else if (lastModifiedSeconds >= 0) {
+            long ifUnmodifiedSince = getDateHeader(req, HEADER_IFUNMODSINCE);
+            if (ifUnmodifiedSince != -1 && lastModifiedSeconds > ifUnmodifiedSince) {
+                resp.sendError(HttpServletResponse.SC_PRECONDITION_FAILED);
+                return false;
+            }
+        }
+
+        Enumeration<String> ifNoneMatch = etag == null ? null : req.getHeaders(HEADER_IFNONEMATCH);
+        if (ifNoneMatch != null && ifNoneMatch.hasMoreElements()) {
+            if (matchesETag(ifNoneMatch, etag, true)) {
+                if (safe) {
+                    maybeSetETag(resp, etag);
+                    resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                } else {
+                    resp.sendError(HttpServletResponse.SC_PRECONDITION_FAILED);
+                }
+                return false;
+            }
+        } else if (safe && lastModifiedSeconds >= 0) {
+            long ifModifiedSince = getDateHeader(req, HEADER_IFMODSINCE);
+            // A ifModifiedSince of -1 will always be less
+            if (ifModifiedSince >= lastModifiedSeconds) {
+                maybeSetETag(resp, etag);
+                resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /*
+     * Returns the value of a date header, or -1 if the header is absent or cannot be parsed, in which case RFC 9110
+     * requires the precondition to be ignored.
+     */
+    private static long getDateHeader(HttpServletRequest req, String name) {
+        try {
+            return req.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    /*
+     * Tests whether an entity tag matches any member of an If-Match or If-None-Match field list, using the weak
+     * comparison function if weak is true and the strong one otherwise. The field values are scanned in place.
+     */
+    private static boolean matchesETag(Enumeration<String> values, String etag, boolean weak) {
+        boolean etagWeak = etag.startsWith("W/");
+        if (etagWeak && !weak) {
+            // a weak entity tag never matches with the strong comparison function
+            while (values.hasMoreElements()) {
+                if (values.nextElement().trim().equals("*")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        int etagStart = etagWeak ? 2 : 0;
+        int etagLength = etag.length() - etagStart;
+
+        while (values.hasMoreElements()) {
+            String value = values.nextElement();
+            int length = value.length();
+            int i = 0;
+            while (i < length) {
+                char c = value.charAt(i);
+                if (c == ' ' || c == '\t' || c == ',') {
+                    i++;
+                    continue;
+                }
+                if (c == '*') {
+                    return true;
+                }
+                boolean tagWeak = value.startsWith("W/", i);
+                int tagStart = tagWeak ? i + 2 : i;
+                if (tagStart >= length || value.charAt(tagStart) != '"') {
+                    // malformed list, ignore the rest of this field value
+                    break;
+                }
+                int tagEnd = value.indexOf('"', tagStart + 1);
+                if (tagEnd < 0) {
+                    break;
+                }
+                int tagLength = tagEnd + 1 - tagStart;
+                if ((weak || !tagWeak) && tagLength == etagLength
+                        && value.regionMatches(tagStart, etag, etagStart, etagLength)) {
+                    return true;
+                }
+                i = tagEnd + 1;
+            }
+        }
+        return false;
+    }
+
     /**
      * Dispatches client requests to the protected <code>service</code> method. There's no need to override this method.
      *
@@ -840,7 +1471,11 @@ class NoBodyResponse extends HttpServletResponseWrapper {
         }
 
         if (writer == null) {
-            OutputStreamWriter w = new OutputStreamWriter(noBody, getCharacterEncoding());
+            String encoding = getCharacterEncoding();
+            Writer w = NoBodyWriter.newInstance(noBody, encoding);
+            if (w == null) {
+                w = new OutputStreamWriter(noBody, encoding);
+            }
             writer = new PrintWriter(w);
         }
 
@@ -874,6 +1509,11 @@ class NoBodyOutputStream extends ServletOutputStream {
         return contentLength;
     }
 
+    // file private
+    void count(int len) {
+        contentLength += len;
+    }
+
     @Override
     public void write(int b) {
         contentLength++;
@@ -914,3 +1554,133 @@ class NoBodyOutputStream extends ServletOutputStream {
         throw new UnsupportedOperationException();
     }
 }
+
+/*
+ * Writer that gobbles up all its characters, counting the number of bytes they would be encoded to in the response
+ * character encoding without encoding them. Only charsets with a length that can be computed from the characters alone
+ * are supported.
+ */
+// file private
+@SuppressWarnings("removal")
+class NoBodyWriter extends Writer {
+
+    private static final int LATIN1 = 0;
+    private static final int UTF8 = 1;
+    private static final int UTF16 = 2;
+
+    private final NoBodyOutputStream noBody;
+    private final int encoding;
+    private boolean bomPending;
+    private boolean highSurrogatePending;
+
+    private NoBodyWriter(NoBodyOutputStream noBody, int encoding, boolean bom) {
+        this.noBody = noBody;
+        this.encoding = encoding;
+        this.bomPending = bom;
+    }
+
+    /*
+     * Returns a counting writer for the given character encoding, or null if the encoded length of the characters cannot
+     * be computed without encoding them.
+     */
+    // file private
+    static NoBodyWriter newInstance(NoBodyOutputStream noBody, String encoding) throws UnsupportedEncodingException {
+        Charset charset;
+        try {
+            charset = Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedEncodingException(encoding);
+        }
+        if (charset.equals(StandardCharsets.ISO_8859_1) || charset.equals(StandardCharsets.US_ASCII)) {
+            return new NoBodyWriter(noBody, LATIN1, false);
+        }
+        if (charset.equals(StandardCharsets.UTF_8)) {
+            return new NoBodyWriter(noBody, UTF8, false);
+        }
+        if (charset.equals(StandardCharsets.UTF_16BE) || charset.equals(StandardCharsets.UTF_16LE)) {
+            return new NoBodyWriter(noBody, UTF16, false);
+        }
+        if (charset.equals(StandardCharsets.UTF_16)) {
+            // the UTF-16 encoder writes a byte order mark before the first character
+            return new NoBodyWriter(noBody, UTF16, true);
+        }
+        return null;
+    }
+
+    @Override
+    public void write(int c) {
+        count((char) c);
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        Objects.checkFromIndexSize(off, len, cbuf.length);
+        if (encoding == UTF16) {
+            countUTF16(len);
+        } else {
+            for (int i = off; i < off + len; i++) {
+                count(cbuf[i]);
+            }
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+        Objects.checkFromIndexSize(off, len, str.length());
+        if (encoding == UTF16) {
+            countUTF16(len);
+        } else {
+            for (int i = off; i < off + len; i++) {
+                count(str.charAt(i));
+            }
+        }
+    }
+
+    private void countUTF16(int len) {
+        if (len > 0 && bomPending) {
+            bomPending = false;
+            noBody.count(2);
+        }
+        // surrogate pairs take two code units, malformed surrogates are replaced by a single code unit
+        noBody.count(2 * len);
+    }
+
+    private void count(char c) {
+        if (encoding == UTF16) {
+            countUTF16(1);
+            return;
+        }
+        if (highSurrogatePending) {
+            highSurrogatePending = false;
+            if (Character.isLowSurrogate(c)) {
+                // a supplementary character is unmappable to a single byte in ISO-8859-1 and US-ASCII
+                noBody.count(encoding == UTF8 ? 4 : 1);
+                return;
+            }
+            // a malformed surrogate is replaced by '?'
+            noBody.count(1);
+        }
+        if (Character.isHighSurrogate(c)) {
+            highSurrogatePending = true;
+        } else if (encoding == LATIN1 || c < 0x80 || Character.isLowSurrogate(c)) {
+            // unmappable characters are replaced by '?'
+            noBody.count(1);
+        } else if (c < 0x800) {
+            noBody.count(2);
+        } else {
+            noBody.count(3);
+        }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() {
+        if (highSurrogatePending) {
+            highSurrogatePending = false;
+            noBody.count(1);
+        }
+    }
+}
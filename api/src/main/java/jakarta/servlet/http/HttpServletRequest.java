@@ -23,6 +23,7 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
 import java.io.IOException;
 import java.util.*;
+import java.util.function.BiConsumer;
 
 /**
  *
@@ -77,6 +78,47 @@ public interface HttpServletRequest extends ServletRequest {
      */
     Cookie[] getCookies();
 
+    /**
+     * Returns the value of the first cookie with the given name that the client sent with this request, or
+     * <code>null</code> if there is no such cookie. Unlike {@link #getCookies()}, this method does not create any
+     * <code>Cookie</code> objects, and only the value of the requested cookie is extracted from the request headers.
+     *
+     * <p>
+     * Cookie names are case sensitive. The value is returned as sent by the client, without removing any surrounding
+     * quotes.
+     *
+     * @implSpec The default implementation scans the values of the <code>Cookie</code> request headers, as returned by
+     * {@link #getHeaderValues(HttpHeader)}, for the first cookie-pair with the given name.
+     *
+     * @param name the name of the cookie
+     *
+     * @return the value of the cookie, or <code>null</code> if the request has no cookie of that name
+     *
+     * @since Servlet 6.2
+     */
+    default String getCookie(String name) {
+        return CookieScanner.find(getHeaderValues(HttpHeader.COOKIE), name);
+    }
+
+    /**
+     * Performs the given action for the name and the value of each cookie that the client sent with this request, in the
+     * order in which they were sent. Unlike {@link #getCookies()}, this method does not create any <code>Cookie</code>
+     * objects or validate the cookie names.
+     *
+     * <p>
+     * The values are given as sent by the client, without removing any surrounding quotes.
+     *
+     * @implSpec The default implementation scans the values of the <code>Cookie</code> request headers, as returned by
+     * {@link #getHeaderValues(HttpHeader)}, skipping any cookie-pair without a name or an equals sign.
+     *
+     * @param action the action to perform for the name and the value of each cookie
+     *
+     * @since Servlet 6.2
+     */
+    default void forEachCookie(BiConsumer<String, String> action) {
+        CookieScanner.forEach(getHeaderValues(HttpHeader.COOKIE), action);
+    }
+
     /**
      * Returns the value of the specified request header as a <code>long</code> value that represents a <code>Date</code>
      * object. Use this method with headers that contain dates, such as <code>If-Modified-Since</code>.
@@ -160,6 +202,113 @@ public interface HttpServletRequest extends ServletRequest {
      */
     int getIntHeader(String name);
 
+    /**
+     * Returns the value of the given request header as a <code>String</code>, as {@link #getHeader(String)} does for its
+     * name.
+     *
+     * @implSpec The default implementation returns {@code getHeader(header.getName())}. Containers are encouraged to use
+     * the precomputed hash code of the header, or the identity of the well-known constants, to look it up.
+     *
+     * @param header the request header
+     *
+     * @return a <code>String</code> containing the value of the requested header, or <code>null</code> if the request does
+     * not have a header of that name
+     *
+     * @since Servlet 6.2
+     */
+    default String getHeader(HttpHeader header) {
+        return getHeader(header.getName());
+    }
+
+    /**
+     * Returns all the values of the specified request header as an unmodifiable <code>List</code>, in the order in which
+     * they were received. If the request did not include any headers of the specified name, this method returns an empty
+     * list. Unlike {@link #getHeaders(String)}, the list may be a view of the headers of the request, so that no copy is
+     * required, and may be iterated any number of times.
+     *
+     * <p>
+     * The header name is case insensitive.
+     *
+     * @implSpec The default implementation returns a list of the values of {@link #getHeaders(String)}.
+     *
+     * @param name a <code>String</code> specifying the header name
+     *
+     * @return an unmodifiable, possibly empty, list of the values of the requested header
+     *
+     * @since Servlet 6.2
+     */
+    default List<String> getHeaderValues(String name) {
+        Enumeration<String> values = getHeaders(name);
+        if (values == null || !values.hasMoreElements()) {
+            return Collections.emptyList();
+        }
+        String first = values.nextElement();
+        if (!values.hasMoreElements()) {
+            return Collections.singletonList(first);
+        }
+        List<String> list = new ArrayList<>();
+        list.add(first);
+        while (values.hasMoreElements()) {
+            list.add(values.nextElement());
+        }
+        return Collections.unmodifiableList(list);
+    }
+
+    /**
+     * Returns all the values of the given request header as an unmodifiable <code>List</code>, as
+     * {@link #getHeaderValues(String)} does for its name.
+     *
+     * @implSpec The default implementation returns {@code getHeaderValues(header.getName())}.
+     *
+     * @param header the request header
+     *
+     * @return an unmodifiable, possibly empty, list of the values of the requested header
+     *
+     * @since Servlet 6.2
+     */
+    default List<String> getHeaderValues(HttpHeader header) {
+        return getHeaderValues(header.getName());
+    }
+
+    /**
+     * Returns the value of the given request header as an <code>int</code>, as {@link #getIntHeader(String)} does for its
+     * name. As the headers of a request do not change, containers are encouraged to parse the value once and return the
+     * cached result on subsequent calls.
+     *
+     * @implSpec The default implementation returns {@code getIntHeader(header.getName())}.
+     *
+     * @param header the request header
+     *
+     * @return an integer expressing the value of the request header or -1 if the request doesn't have the header
+     *
+     * @exception NumberFormatException If the header value can't be converted to an <code>int</code>
+     *
+     * @since Servlet 6.2
+     */
+    default int getIntHeader(HttpHeader header) {
+        return getIntHeader(header.getName());
+    }
+
+    /**
+     * Returns the value of the given request header as a <code>long</code> value that represents a <code>Date</code>
+     * object, as {@link #getDateHeader(String)} does for its name. As the headers of a request do not change, containers
+     * are encouraged to parse the value once and return the cached result on subsequent calls.
+     *
+     * @implSpec The default implementation returns {@code getDateHeader(header.getName())}.
+     *
+     * @param header the request header
+     *
+     * @return a <code>long</code> value representing the date specified in the header expressed as the number of
+     * milliseconds since January 1, 1970 GMT, or -1 if the request doesn't have the header
+     *
+     * @exception IllegalArgumentException If the header value can't be converted to a date
+     *
+     * @since Servlet 6.2
+     */
+    default long getDateHeader(HttpHeader header) {
+        return getDateHeader(header.getName());
+    }
+
     /**
      * Return the HttpServletMapping of the request.
      * <p>
@@ -483,6 +632,45 @@ public interface HttpServletRequest extends ServletRequest {
      */
     HttpSession getSession();
 
+    /**
+     * Returns the current <code>HttpSession</code> associated with this request, with the given access, or
+     * <code>null</code> if the request has no valid session. This method never creates a session.
+     *
+     * <p>
+     * A session obtained with {@link SessionAccess#READ_ONLY} throws an <code>UnsupportedOperationException</code> from
+     * any method that would modify it, such as <code>setAttribute</code>, <code>removeAttribute</code> or
+     * <code>invalidate</code>. If the request does not otherwise obtain the session with {@link SessionAccess#READ_WRITE},
+     * {@link #getSession(boolean)} or {@link #getSession()}, the container may then skip locking the session, checking it
+     * for changes and storing it when the request completes. A session obtained with {@link SessionAccess#READ_WRITE} is the
+     * one returned by {@link #getSession(boolean)}.
+     *
+     * <p>
+     * Note that a read-only session does not prevent the objects bound to it from being modified, but such modifications
+     * may not be stored.
+     *
+     * @implSpec The default implementation returns {@code getSession(false)} for {@link SessionAccess#READ_WRITE}, and a
+     * read-only view of {@code getSession(false)} for {@link SessionAccess#READ_ONLY}.
+     *
+     * @param access how the session is accessed by the request
+     *
+     * @return the <code>HttpSession</code> associated with this request, or <code>null</code> if the request has no valid
+     * session
+     *
+     * @throws NullPointerException if access is null
+     *
+     * @see SessionAccess
+     *
+     * @since Servlet 6.2
+     */
+    default HttpSession getSession(SessionAccess access) {
+        Objects.requireNonNull(access);
+        HttpSession session = getSession(false);
+        if (session == null || access == SessionAccess.READ_WRITE) {
+            return session;
+        }
+        return new ReadOnlySession(session);
+    }
+
     /**
      * Change the session id of the current session associated with this request and return the new session id.
      *
@@ -19,8 +19,16 @@
 package jakarta.servlet.http;
 
 import jakarta.servlet.ServletContext;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  *
@@ -201,6 +209,212 @@ public interface HttpSession {
      */
     void removeAttribute(String name);
 
+    /**
+     * Computes a new value for the attribute of the given name from its current value, which is <code>null</code> if no
+     * object is bound under the name, and binds it to this session. If the function returns <code>null</code>, the
+     * attribute is removed. If the function throws an exception, the exception is rethrown and the attribute is left
+     * unchanged.
+     *
+     * <p>
+     * The container performs the whole operation atomically with respect to the other attribute operations on this
+     * session, in this and in concurrent requests, so that read-modify-write updates such as counters need no external
+     * locking. The function should therefore be short and must not access other attributes of this session. The binding
+     * and attribute listeners are notified as by {@link #setAttribute(String, Object)} or {@link #removeAttribute(String)},
+     * unless the function returns the current value, in which case no listener is notified.
+     *
+     * @implSpec The default implementation is equivalent to the following, and is only atomic if all the updates of the
+     * attribute synchronize on the same lock; containers should override it:
+     *
+     * <pre>{@code
+     * Object oldValue = getAttribute(name);
+     * Object newValue = remappingFunction.apply(name, oldValue);
+     * if (newValue != oldValue) {
+     *     setAttribute(name, newValue);
+     * }
+     * return newValue;
+     * }</pre>
+     *
+     * @param name the name of the attribute; cannot be null
+     *
+     * @param remappingFunction the function to compute the new value from the name and the current value
+     *
+     * @return the new value of the attribute, or <code>null</code> if it was removed
+     *
+     * @exception IllegalStateException if this method is called on an invalidated session
+     *
+     * @since Servlet 6.2
+     */
+    default Object computeAttribute(String name, BiFunction<String, Object, Object> remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        Object oldValue = getAttribute(name);
+        Object newValue = remappingFunction.apply(name, oldValue);
+        if (newValue != oldValue) {
+            setAttribute(name, newValue);
+        }
+        return newValue;
+    }
+
+    /**
+     * Returns the object bound with the given name in this session, first computing it with the given function and binding
+     * it to this session if no object is bound under the name. If the function returns <code>null</code>, nothing is
+     * bound. If the function throws an exception, the exception is rethrown and nothing is bound.
+     *
+     * <p>
+     * The container performs the whole operation atomically with respect to the other attribute operations on this
+     * session, as for {@link #computeAttribute(String, BiFunction)}, so that the function is called at most once for
+     * concurrent requests. Listeners are only notified if a value is bound.
+     *
+     * @implSpec The default implementation is equivalent to the following, and is only atomic if all the updates of the
+     * attribute synchronize on the same lock; containers should override it:
+     *
+     * <pre>{@code
+     * Object value = getAttribute(name);
+     * if (value == null) {
+     *     value = mappingFunction.apply(name);
+     *     if (value != null) {
+     *         setAttribute(name, value);
+     *     }
+     * }
+     * return value;
+     * }</pre>
+     *
+     * @param name the name of the attribute; cannot be null
+     *
+     * @param mappingFunction the function to compute the value from the name
+     *
+     * @return the current or computed value of the attribute, or <code>null</code> if none was computed
+     *
+     * @exception IllegalStateException if this method is called on an invalidated session
+     *
+     * @since Servlet 6.2
+     */
+    default Object computeAttributeIfAbsent(String name, Function<String, Object> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        Object value = getAttribute(name);
+        if (value == null) {
+            value = mappingFunction.apply(name);
+            if (value != null) {
+                setAttribute(name, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Binds the given value to this session under the given name if no object is bound under the name, or else binds the
+     * result of the given function applied to the current value and the given value. If the function returns
+     * <code>null</code>, the attribute is removed. If the function throws an exception, the exception is rethrown and the
+     * attribute is left unchanged.
+     *
+     * <p>
+     * The container performs the whole operation atomically with respect to the other attribute operations on this
+     * session, as for {@link #computeAttribute(String, BiFunction)}.
+     *
+     * @implSpec The default implementation is equivalent to the following, and is only atomic if all the updates of the
+     * attribute synchronize on the same lock; containers should override it:
+     *
+     * <pre>{@code
+     * Object oldValue = getAttribute(name);
+     * Object newValue = oldValue == null ? value : remappingFunction.apply(oldValue, value);
+     * if (newValue != oldValue) {
+     *     setAttribute(name, newValue);
+     * }
+     * return newValue;
+     * }</pre>
+     *
+     * @param name the name of the attribute; cannot be null
+     *
+     * @param value the value to bind if no object is bound under the name, or to merge with the current value; cannot be
+     * null
+     *
+     * @param remappingFunction the function to compute the new value from the current value and the given value
+     *
+     * @return the new value of the attribute, or <code>null</code> if it was removed
+     *
+     * @exception IllegalStateException if this method is called on an invalidated session
+     *
+     * @since Servlet 6.2
+     */
+    default Object mergeAttribute(String name, Object value, BiFunction<Object, Object, Object> remappingFunction) {
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(remappingFunction);
+        Object oldValue = getAttribute(name);
+        Object newValue = oldValue == null ? value : remappingFunction.apply(oldValue, value);
+        if (newValue != oldValue) {
+            setAttribute(name, newValue);
+        }
+        return newValue;
+    }
+
+    /**
+     * Binds each of the given objects to this session under its name, as {@link #setAttribute(String, Object)} does. A
+     * <code>null</code> value removes the attribute, as {@link #removeAttribute(String)} does.
+     *
+     * <p>
+     * The container applies all the changes before notifying any listener, so that listeners observe the session with
+     * all the attributes set, and other requests for this session observe either none or all of the changes. A
+     * distributed container replicates the changes together rather than one attribute at a time. The binding listeners
+     * are notified first, then the attribute listeners, each in the iteration order of the map.
+     *
+     * @implSpec The default implementation calls {@link #setAttribute(String, Object)} for each entry of the map, in its
+     * iteration order; containers should override it.
+     *
+     * @param attributes the objects to bind, by name; the names cannot be null
+     *
+     * @exception IllegalStateException if this method is called on an invalidated session
+     *
+     * @since Servlet 6.2
+     */
+    default void setAttributes(Map<String, ?> attributes) {
+        attributes.forEach(this::setAttribute);
+    }
+
+    /**
+     * Marks the object bound with the given name in this session as modified, so that a container that persists or
+     * replicates sessions writes its state again. If the session does not have an object bound with the given name, this
+     * method does nothing.
+     *
+     * <p>
+     * Binding or removing an attribute marks it implicitly. An application that modifies the state of an object bound to
+     * the session, for example by adding an item to a cart, calls this method instead of binding the object again, which
+     * would notify the listeners. A container may then persist or replicate only the attributes that were marked during a
+     * request rather than the whole session.
+     *
+     * @implSpec The default implementation takes no action.
+     *
+     * @param name the name of the modified attribute
+     *
+     * @exception IllegalStateException if this method is called on an invalidated session
+     *
+     * @see HttpSessionImmutableAttribute
+     *
+     * @since Servlet 6.2
+     */
+    default void markAttributeDirty(String name) {
+    }
+
+    /**
+     * Returns the names of the attributes of this session that were bound, removed or marked as modified with
+     * {@link #markAttributeDirty(String)} during the current request, or since the session was last persisted or
+     * replicated, for use by containers that only write the changed attributes.
+     *
+     * <p>
+     * Whether the attributes that were only read during the request are included is up to the container. A container
+     * that cannot otherwise tell whether an object was modified after it was read should include it, unless it implements
+     * {@link HttpSessionImmutableAttribute}.
+     *
+     * @implSpec The default implementation returns an empty set.
+     *
+     * @return an unmodifiable, possibly empty, set of the names of the modified attributes
+     *
+     * @exception IllegalStateException if this method is called on an invalidated session
+     *
+     * @since Servlet 6.2
+     */
+    default Set<String> getDirtyAttributeNames() {
+        return Collections.emptySet();
+    }
+
     /**
      * Invalidates this session then unbinds any objects bound to it.
      *
@@ -248,6 +462,46 @@ public interface HttpSession {
          * since the {@code Accessor} was obtained.
          */
         void access(Consumer<HttpSession> sessionConsumer);
+
+        /**
+         * Call to access the {@code HttpSession} used to obtain this {@code Accessor} from outside the scope of a HTTP request,
+         * without blocking the calling thread while the container loads, locks or stores the session.
+         * <p>
+         * The container calls the {@link Function#apply(Object)} method of the {@code sessionFunction} passed by the
+         * application as {@link #access(Consumer)} calls the {@code Consumer}, possibly on another thread and after this
+         * method has returned, and completes the returned {@code CompletionStage} with its result once any changes made to
+         * the session are visible to subsequent requests. The same rules apply to the passed {@code HttpSession}, which must
+         * not be used or referenced outside the scope of the call to the {@code Function}.
+         * <p>
+         * Calls to this method and to {@link #access(Consumer)} on the same {@code Accessor} are performed in the order in
+         * which they were made, each seeing the changes of the previous ones. Relative to the HTTP requests for the same
+         * session, each call is performed as a request received at the time of the call would be: it sees the changes of the
+         * requests that completed before it, and, if the container serializes the requests for a session, it is serialized
+         * with them.
+         *
+         * @implSpec The default implementation calls {@link #access(Consumer)} on the calling thread and, once it has
+         * returned normally, returns a stage completed with the result of the {@code Function}. If
+         * {@link #access(Consumer)} or the {@code Function} throws, the stage is completed exceptionally with that exception
+         * instead, even if the {@code Function} had already returned.
+         *
+         * @param <T> the type of the result of the {@code Function}
+         * @param sessionFunction the application provided {@link Function} to access the session and compute a result.
+         * @return a {@link CompletionStage} completed with the result of the {@code Function}, or exceptionally with an
+         * {@link IllegalStateException} if the session has been invalidated or its ID has changed since the {@code Accessor}
+         * was obtained, or with the exception thrown by the {@code Function}.
+         * @since Servlet 6.2
+         */
+        default <T> CompletionStage<T> accessAsync(Function<HttpSession, T> sessionFunction) {
+            Object[] result = new Object[1];
+            try {
+                access(session -> result[0] = sessionFunction.apply(session));
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            @SuppressWarnings("unchecked")
+            T value = (T) result[0];
+            return CompletableFuture.completedFuture(value);
+        }
     }
 
     /**
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.servlet.http;
+
+/**
+ * Validates the syntax of the elements of HTTP messages: tokens, such as header names and cookie names, as defined by
+ * RFC 9110, the octets of cookie values, as defined by RFC 6265, and header field values, as defined by RFC 9110.
+ *
+ * <p>
+ * Each set of allowed ASCII characters is held in a 128-bit table, so that a character is checked with a shift and a
+ * mask instead of a search of the disallowed characters.
+ *
+ * @since Servlet 6.2
+ */
+public final class HttpSyntax {
+
+    // tchar = "!" / "#" / "$" / "%" / "&" / "'" / "*" / "+" / "-" / "." / "^" / "_" / "`" / "|" / "~" / DIGIT / ALPHA
+    private static final long TOKEN_LOW;
+    private static final long TOKEN_HIGH;
+
+    // cookie-octet = %x21 / %x23-2B / %x2D-3A / %x3C-5B / %x5D-7E
+    private static final long COOKIE_OCTET_LOW;
+    private static final long COOKIE_OCTET_HIGH;
+
+    // field-vchar = VCHAR / obs-text, with SP and HTAB allowed between them
+    private static final long FIELD_LOW;
+    private static final long FIELD_HIGH;
+
+    static {
+        long[] token = new long[2];
+        set(token, '0', '9');
+        set(token, 'A', 'Z');
+        set(token, 'a', 'z');
+        for (char c : "!#$%&'*+-.^_`|~".toCharArray()) {
+            set(token, c, c);
+        }
+        TOKEN_LOW = token[0];
+        TOKEN_HIGH = token[1];
+
+        long[] cookieOctet = new long[2];
+        set(cookieOctet, 0x21, 0x21);
+        set(cookieOctet, 0x23, 0x2b);
+        set(cookieOctet, 0x2d, 0x3a);
+        set(cookieOctet, 0x3c, 0x5b);
+        set(cookieOctet, 0x5d, 0x7e);
+        COOKIE_OCTET_LOW = cookieOctet[0];
+        COOKIE_OCTET_HIGH = cookieOctet[1];
+
+        long[] field = new long[2];
+        set(field, '\t', '\t');
+        set(field, 0x20, 0x7e);
+        FIELD_LOW = field[0];
+        FIELD_HIGH = field[1];
+    }
+
+    private HttpSyntax() {
+    }
+
+    private static void set(long[] table, int from, int to) {
+        for (int c = from; c <= to; c++) {
+            table[c >>> 6] |= 1L << c;
+        }
+    }
+
+    private static boolean in(long low, long high, char c) {
+        return c < 64 ? (low & 1L << c) != 0 : c < 128 && (high & 1L << c) != 0;
+    }
+
+    /**
+     * Returns whether the given character is a token character.
+     *
+     * @param c the character
+     *
+     * @return <code>true</code> if the character may be used in a token
+     */
+    public static boolean isTokenChar(char c) {
+        return in(TOKEN_LOW, TOKEN_HIGH, c);
+    }
+
+    /**
+     * Returns whether the given string is a token, such as a header name, a method name or a cookie name.
+     *
+     * @param value the string to check
+     *
+     * @return <code>true</code> if the string is not empty and only contains token characters
+     */
+    public static boolean isToken(CharSequence value) {
+        int length = value.length();
+        if (length == 0) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!in(TOKEN_LOW, TOKEN_HIGH, value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the given character is a cookie-octet, which may be used in a cookie value.
+     *
+     * @param c the character
+     *
+     * @return <code>true</code> if the character may be used in a cookie value
+     */
+    public static boolean isCookieOctet(char c) {
+        return in(COOKIE_OCTET_LOW, COOKIE_OCTET_HIGH, c);
+    }
+
+    /**
+     * Returns whether the given string is a valid cookie value: a possibly empty sequence of cookie-octets, optionally
+     * enclosed in double quotes.
+     *
+     * @param value the string to check
+     *
+     * @return <code>true</code> if the string is a valid cookie value
+     */
+    public static boolean isCookieValue(CharSequence value) {
+        int start = 0;
+        int end = value.length();
+        if (end > 0 && value.charAt(0) == '"') {
+            if (end == 1 || value.charAt(end - 1) != '"') {
+                return false;
+            }
+            start = 1;
+            end--;
+        }
+        for (int i = start; i < end; i++) {
+            if (!in(COOKIE_OCTET_LOW, COOKIE_OCTET_HIGH, value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the given string is a valid header field value: a possibly empty sequence of visible ASCII
+     * characters, spaces, horizontal tabs and obsolete text characters in the range <code>0x80</code> to
+     * <code>0xFF</code>. Control characters, and in particular CR and LF, are not allowed.
+     *
+     * @param value the string to check
+     *
+     * @return <code>true</code> if the string is a valid header field value
+     */
+    public static boolean isFieldValue(CharSequence value) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 128 ? !in(FIELD_LOW, FIELD_HIGH, c) : c > 0xff) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -18,6 +18,7 @@
 package jakarta.servlet.http;
 
 import java.io.*;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -83,6 +84,34 @@ public interface Part {
      */
     void write(String fileName) throws IOException;
 
+    /**
+     * Moves or copies the content of this part to the given file, replacing it if it exists.
+     *
+     * <p>
+     * This method is not guaranteed to succeed if called more than once for the same part. If the content of the part has
+     * already been stored in a temporary file under {@link jakarta.servlet.MultipartConfigElement#getLocation()},
+     * implementations are strongly encouraged to move that file to the target with
+     * {@link java.nio.file.StandardCopyOption#ATOMIC_MOVE} when both are on the same file store, so that the content is
+     * neither read nor written again and the target never holds a partial upload. Otherwise the content should be copied
+     * with a {@link java.nio.channels.FileChannel}.
+     *
+     * <p>
+     * The default implementation calls {@link #write(String)} with the file's path, so that any renaming optimization of
+     * the container applies.
+     *
+     * @param file The file into which the part should be stored. Relative paths are relative to
+     * {@link jakarta.servlet.MultipartConfigElement#getLocation()}, as for {@link #write(String)}.
+     *
+     * @throws IOException if an error occurs.
+     *
+     * @throws NullPointerException if file is null.
+     *
+     * @since Servlet 6.2
+     */
+    default void transferTo(Path file) throws IOException {
+        write(Objects.requireNonNull(file).toString());
+    }
+
     /**
      * Deletes the underlying storage for a file item, including deleting any associated temporary disk file.
      *
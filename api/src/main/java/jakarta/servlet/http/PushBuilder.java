@@ -130,6 +130,8 @@ public interface PushBuilder {
      * <p>
      * Set a request header to be used for the push. If the builder has an existing header with the same name, its value is
      * overwritten.
+     * Implementations may reject a name that is not a {@link HttpSyntax#isToken(CharSequence) token} or a value that is not
+     * a {@link HttpSyntax#isFieldValue(CharSequence) valid header field value}.
      * </p>
      *
      * @param name The header name to set
@@ -141,6 +143,8 @@ public interface PushBuilder {
     /**
      * <p>
      * Add a request header to be used for the push.
+     * Implementations may reject a name that is not a {@link HttpSyntax#isToken(CharSequence) token} or a value that is not
+     * a {@link HttpSyntax#isFieldValue(CharSequence) valid header field value}.
      * </p>
      *
      * @param name The header name to add
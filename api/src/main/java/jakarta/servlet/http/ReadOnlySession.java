@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.servlet.http;
+
+import jakarta.servlet.ServletContext;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/*
+ * The view of a session returned by the default getSession(SessionAccess.READ_ONLY) of HttpServletRequest. Reads are
+ * delegated to the session, and modifications throw UnsupportedOperationException.
+ */
+final class ReadOnlySession implements HttpSession {
+
+    private final HttpSession session;
+
+    ReadOnlySession(HttpSession session) {
+        this.session = session;
+    }
+
+    @Override
+    public long getCreationTime() {
+        return session.getCreationTime();
+    }
+
+    @Override
+    public String getId() {
+        return session.getId();
+    }
+
+    @Override
+    public long getLastAccessedTime() {
+        return session.getLastAccessedTime();
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return session.getServletContext();
+    }
+
+    @Override
+    public void setMaxInactiveInterval(int interval) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int getMaxInactiveInterval() {
+        return session.getMaxInactiveInterval();
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        return session.getAttribute(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        return session.getAttributeNames();
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object computeAttribute(String name, BiFunction<String, Object, Object> remappingFunction) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object computeAttributeIfAbsent(String name, Function<String, Object> mappingFunction) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object mergeAttribute(String name, Object value, BiFunction<Object, Object, Object> remappingFunction) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setAttributes(Map<String, ?> attributes) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void markAttributeDirty(String name) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Set<String> getDirtyAttributeNames() {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public void invalidate() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isNew() {
+        return session.isNew();
+    }
+
+    /*
+     * The accessor of the session, if any, passing a read only view of the session so that it cannot be modified
+     * through the accessor either.
+     */
+    @Override
+    public Accessor getAccessor() {
+        Accessor accessor = session.getAccessor();
+        if (accessor == null) {
+            return null;
+        }
+        return new Accessor() {
+            @Override
+            public void access(Consumer<HttpSession> sessionConsumer) {
+                accessor.access(accessed -> sessionConsumer.accept(new ReadOnlySession(accessed)));
+            }
+
+            @Override
+            public <T> CompletionStage<T> accessAsync(Function<HttpSession, T> sessionFunction) {
+                return accessor.accessAsync(accessed -> sessionFunction.apply(new ReadOnlySession(accessed)));
+            }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.servlet.http;
+
+/**
+ * Enumeration of the ways in which a request may access its session, as requested with
+ * {@link HttpServletRequest#getSession(SessionAccess)}.
+ *
+ * @since Servlet 6.2
+ */
+public enum SessionAccess {
+    /**
+     * The session is only read. The session returned rejects any modification, so the container need not lock the session
+     * against concurrent requests, check its attributes for changes or store it when the request completes, and may update
+     * its last accessed time lazily.
+     */
+    READ_ONLY,
+    /**
+     * The session may be read and modified, as when it is obtained with {@link HttpServletRequest#getSession(boolean)}.
+     */
+    READ_WRITE
+}
@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package jakarta.servlet.http;
+
+import jakarta.servlet.ContentTooLargeException;
+import jakarta.servlet.ServletInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * An incremental parser of <code>application/x-www-form-urlencoded</code> content.
+ *
+ * <p>
+ * The parser is fed the content in as many buffers as it arrives, for example from a {@link jakarta.servlet.ReadListener},
+ * and may be given buffers that end in the middle of a name, a value or a percent-escape. Names and values are decoded
+ * into a byte array reused for the whole content, so that the only allocations are those of the resulting strings. Once
+ * all the content has been parsed, {@link #finish()} returns the parameters.
+ *
+ * <p>
+ * {@link #readParametersAsync(HttpServletRequest, long)} uses the parser to read the form parameters of a request
+ * without blocking and makes them available through the parameter methods of a request wrapper.
+ *
+ * <p>
+ * A parser is not thread safe and parses a single content.
+ *
+ * @since Servlet 6.2
+ */
+public class UrlEncodedFormParser {
+
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded";
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    private final Charset charset;
+    private final long maxLength;
+    private final Map<String, List<String>> parameters = new LinkedHashMap<>();
+    private byte[] bytes = new byte[64];
+    private int size;
+    private String name;
+    private long length;
+    // 0 outside of a percent-escape, else the number of characters of the escape already parsed
+    private int escape;
+    private int escapeHigh;
+    private boolean finished;
+
+    /**
+     * Creates a parser for content of unlimited length.
+     *
+     * @param charset the character set in which the names and values are encoded
+     */
+    public UrlEncodedFormParser(Charset charset) {
+        this(charset, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a parser for content of the given maximum length.
+     *
+     * @param charset the character set in which the names and values are encoded
+     * @param maxLength the maximum length of the content in bytes
+     *
+     * @throws IllegalArgumentException if maxLength is negative
+     */
+    public UrlEncodedFormParser(Charset charset, long maxLength) {
+        if (maxLength < 0) {
+            throw new IllegalArgumentException("maxLength: " + maxLength);
+        }
+        this.charset = charset;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Parses the remaining content of the given buffer, which is consumed. The last name or value of the buffer may be
+     * incomplete, in which case it is completed by the following buffers.
+     *
+     * @param buffer the content to parse
+     *
+     * @throws ContentTooLargeException if the content parsed so far is longer than the maximum length
+     * @throws IllegalArgumentException if the content contains an invalid percent-escape
+     * @throws IllegalStateException if {@link #finish()} has been called
+     */
+    public void parse(ByteBuffer buffer) throws ContentTooLargeException {
+        if (finished) {
+            throw new IllegalStateException();
+        }
+        length += buffer.remaining();
+        if (length > maxLength) {
+            throw new ContentTooLargeException(maxLength);
+        }
+
+        while (buffer.hasRemaining()) {
+            byte b = buffer.get();
+            if (escape > 0) {
+                int digit = Character.digit(b, 16);
+                if (digit < 0) {
+                    throw new IllegalArgumentException("Invalid percent-escape");
+                }
+                if (escape == 1) {
+                    escapeHigh = digit;
+                    escape = 2;
+                } else {
+                    append((byte) (escapeHigh << 4 | digit));
+                    escape = 0;
+                }
+                continue;
+            }
+            switch (b) {
+            case '%':
+                escape = 1;
+                break;
+            case '+':
+                append((byte) ' ');
+                break;
+            case '=':
+                if (name == null) {
+                    name = decode();
+                } else {
+                    append(b);
+                }
+                break;
+            case '&':
+                endParameter();
+                break;
+            default:
+                append(b);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Completes the parsing of the content and returns the parameters, in the order of their first occurrence. A
+     * parameter without an <code>=</code> has an empty value.
+     *
+     * @return the parameters parsed, with their values in the order in which they occurred
+     *
+     * @throws IllegalArgumentException if the content ends with an incomplete percent-escape
+     */
+    public Map<String, List<String>> finish() {
+        if (!finished) {
+            if (escape > 0) {
+                throw new IllegalArgumentException("Incomplete percent-escape");
+            }
+            endParameter();
+            finished = true;
+        }
+        return parameters;
+    }
+
+    private void append(byte b) {
+        if (size == bytes.length) {
+            bytes = Arrays.copyOf(bytes, size * 2);
+        }
+        bytes[size++] = b;
+    }
+
+    private String decode() {
+        String s = new String(bytes, 0, size, charset);
+        size = 0;
+        return s;
+    }
+
+    private void endParameter() {
+        String value;
+        if (name == null) {
+            if (size == 0) {
+                return;
+            }
+            name = decode();
+            value = "";
+        } else {
+            value = decode();
+        }
+        parameters.computeIfAbsent(name, n -> new ArrayList<>(1)).add(value);
+        name = null;
+    }
+
+    /**
+     * Reads the form parameters of the given request without blocking, returning a stage that completes with a request
+     * whose parameter methods return them.
+     *
+     * <p>
+     * If the request is a <code>POST</code> with <code>application/x-www-form-urlencoded</code> content, the request must
+     * be in asynchronous mode and the content is read with {@link ServletInputStream#readAsync(ByteBuffer)} into a single
+     * reused buffer and parsed as it arrives, in the request's character encoding or ISO-8859-1 if none is specified. The
+     * stage completes with a wrapper of the request whose parameters are those of the query string, decoded as UTF-8,
+     * followed by those of the content, so that the container never has to read the content with blocking I/O. The
+     * parameter methods of the wrapped request must not be used. Otherwise the stage completes with the request itself.
+     *
+     * <p>
+     * If the content is longer than maxBytes the stage completes exceptionally with a {@link ContentTooLargeException},
+     * immediately if the content length of the request is already larger. The stage also completes exceptionally if the
+     * content cannot be read or parsed.
+     *
+     * @param request the request whose parameters are read
+     * @param maxBytes the maximum length of the content in bytes
+     *
+     * @return a stage that completes with a request from which the parameters can be obtained without blocking
+     *
+     * @throws IllegalStateException if the request has form content but is not in asynchronous mode, or its input stream
+     * has already been used
+     */
+    public static CompletionStage<HttpServletRequest> readParametersAsync(HttpServletRequest request, long maxBytes) {
+        String contentType = request.getContentType();
+        if (!"POST".equals(request.getMethod()) || contentType == null
+                || !contentType.toLowerCase(Locale.ENGLISH).startsWith(FORM_CONTENT_TYPE)) {
+            return CompletableFuture.completedFuture(request);
+        }
+        if (request.getContentLengthLong() > maxBytes) {
+            return CompletableFuture.failedFuture(new ContentTooLargeException(maxBytes));
+        }
+
+        Charset charset;
+        ServletInputStream in;
+        try {
+            String encoding = request.getCharacterEncoding();
+            charset = encoding == null ? StandardCharsets.ISO_8859_1 : Charset.forName(encoding);
+            in = request.getInputStream();
+        } catch (IOException | IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return new FormReader(request, in, new UrlEncodedFormParser(charset, maxBytes)).read();
+    }
+
+    /*
+     * Reads the content with readAsync and feeds it to the parser, looping rather than recursing on reads that complete
+     * synchronously.
+     */
+    private static final class FormReader {
+        private final HttpServletRequest request;
+        private final ServletInputStream in;
+        private final UrlEncodedFormParser parser;
+        private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private final CompletableFuture<HttpServletRequest> future = new CompletableFuture<>();
+
+        FormReader(HttpServletRequest request, ServletInputStream in, UrlEncodedFormParser parser) {
+            this.request = request;
+            this.in = in;
+            this.parser = parser;
+        }
+
+        CompletionStage<HttpServletRequest> read() {
+            readNext();
+            return future;
+        }
+
+        private void readNext() {
+            try {
+                while (true) {
+                    buffer.clear();
+                    CompletableFuture<Integer> read = in.readAsync(buffer).toCompletableFuture();
+                    if (!read.isDone()) {
+                        read.whenComplete((n, failure) -> {
+                            if (failure != null) {
+                                future.completeExceptionally(failure);
+                            } else if (onRead(n)) {
+                                readNext();
+                            }
+                        });
+                        return;
+                    }
+                    if (!onRead(read.join())) {
+                        return;
+                    }
+                }
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+
+        /*
+         * Returns true if more content is to be read.
+         */
+        private boolean onRead(int n) {
+            try {
+                if (n >= 0) {
+                    parser.parse(buffer);
+                    return true;
+                }
+                Map<String, String[]> parameters = new LinkedHashMap<>();
+                String query = request.getQueryString();
+                if (query != null) {
+                    UrlEncodedFormParser queryParser = new UrlEncodedFormParser(StandardCharsets.UTF_8);
+                    queryParser.parse(ByteBuffer.wrap(query.getBytes(StandardCharsets.ISO_8859_1)));
+                    add(parameters, queryParser.finish());
+                }
+                add(parameters, parser.finish());
+                future.complete(new FormRequest(request, Collections.unmodifiableMap(parameters)));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+            return false;
+        }
+
+        private static void add(Map<String, String[]> parameters, Map<String, List<String>> values) {
+            for (Map.Entry<String, List<String>> entry : values.entrySet()) {
+                String[] added = entry.getValue().toArray(new String[0]);
+                parameters.merge(entry.getKey(), added, (previous, value) -> {
+                    String[] merged = Arrays.copyOf(previous, previous.length + value.length);
+                    System.arraycopy(value, 0, merged, previous.length, value.length);
+                    return merged;
+                });
+            }
+        }
+    }
+
+    /*
+     * A request whose parameters have been read by readParametersAsync.
+     */
+    private static final class FormRequest extends HttpServletRequestWrapper {
+        private final Map<String, String[]> parameters;
+
+        FormRequest(HttpServletRequest request, Map<String, String[]> parameters) {
+            super(request);
+            this.parameters = parameters;
+        }
+
+        @Override
+        public String getParameter(String name) {
+            String[] values = parameters.get(name);
+            return values == null ? null : values[0];
+        }
+
+        @Override
+        public Map<String, String[]> getParameterMap() {
+            return parameters;
+        }
+
+        @Override
+        public Enumeration<String> getParameterNames() {
+            return Collections.enumeration(parameters.keySet());
+        }
+
+        @Override
+        public String[] getParameterValues(String name) {
+            return parameters.get(name);
+        }
+    }
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package ee.jakarta.servlet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import jakarta.servlet.ContentTooLargeException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+public class ServletInputStreamTest {
+
+    @Test
+    public void testReadByteBuffer() throws IOException {
+        MockServletInputStream in = new MockServletInputStream("Hello World".getBytes(StandardCharsets.ISO_8859_1));
+
+        ByteBuffer heap = ByteBuffer.allocate(16);
+        heap.position(2);
+        assertThat(in.read(ByteBuffer.allocate(5)), is(5));
+        assertThat(in.read(heap), is(6));
+        assertThat(heap.position(), is(2));
+        assertThat(heap.limit(), is(8));
+        assertThat(StandardCharsets.ISO_8859_1.decode(heap).toString(), is(" World"));
+        heap.clear();
+        assertThat(in.read(heap), is(-1));
+
+        in = new MockServletInputStream("Hello World".getBytes(StandardCharsets.ISO_8859_1));
+        ByteBuffer direct = ByteBuffer.allocateDirect(16);
+        direct.position(1);
+        assertThat(in.read(direct), is(11));
+        assertThat(direct.position(), is(1));
+        assertThat(StandardCharsets.ISO_8859_1.decode(direct).toString(), is("Hello World"));
+    }
+
+    @Test
+    public void testTransferTo() throws IOException {
+        byte[] content = new byte[20000];
+        for (int i = 0; i < content.length; i++)
+            content[i] = (byte) i;
+
+        Path file = Files.createTempFile("transferTo", ".bin");
+        try {
+            Files.write(file, "previous content".getBytes(StandardCharsets.ISO_8859_1));
+            MockServletInputStream in = new MockServletInputStream(content);
+            assertThat(in.transferTo(file), is(20000L));
+            assertArrayEquals(content, Files.readAllBytes(file));
+            assertThat(in.transferTo(file), is(0L));
+            assertThat(Files.size(file), is(0L));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testReadLine() throws IOException {
+        byte[] content = "first\nsecond line\n\nlast".getBytes(StandardCharsets.ISO_8859_1);
+        ByteArrayInputStream markable = new ByteArrayInputStream(content);
+        MockServletInputStream bulk = new MockServletInputStream(markable) {
+            @Override
+            public boolean markSupported() {
+                return true;
+            }
+
+            @Override
+            public synchronized void mark(int readlimit) {
+                markable.mark(readlimit);
+            }
+
+            @Override
+            public synchronized void reset() {
+                markable.reset();
+            }
+
+            @Override
+            public long skip(long n) {
+                return markable.skip(n);
+            }
+        };
+        MockServletInputStream single = new MockServletInputStream(content);
+
+        for (MockServletInputStream in : new MockServletInputStream[] { bulk, single }) {
+            byte[] b = new byte[16];
+            Arrays.fill(b, (byte) '#');
+            assertThat(in.readLine(b, 1, 15), is(6));
+            assertThat(new String(b, StandardCharsets.ISO_8859_1), is("#first\n#########"));
+            assertThat(in.readLine(b, 0, 4), is(4));
+            assertThat(new String(b, 0, 4, StandardCharsets.ISO_8859_1), is("seco"));
+            assertThat(in.readLine(b, 0, 16), is(8));
+            assertThat(new String(b, 0, 8, StandardCharsets.ISO_8859_1), is("nd line\n"));
+            assertThat(in.readLine(b, 0, 16), is(1));
+            assertThat(in.readLine(b, 0, 16), is(4));
+            assertThat(new String(b, 0, 4, StandardCharsets.ISO_8859_1), is("last"));
+            assertThat(in.readLine(b, 0, 16), is(-1));
+        }
+    }
+
+    @Test
+    public void testReadAsync() throws IOException {
+        AtomicBoolean ready = new AtomicBoolean();
+        MockServletInputStream in = new MockServletInputStream("Hello World".getBytes(StandardCharsets.ISO_8859_1)) {
+            @Override
+            public boolean isReady() {
+                return ready.get();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (!ready.get())
+                    throw new IllegalStateException();
+                // every read drains the network buffer
+                ready.set(false);
+                return super.read(b, off, Math.min(len, 5));
+            }
+        };
+
+        ByteBuffer first = ByteBuffer.allocate(16);
+        CompletionStage<Integer> read = in.readAsync(first);
+        assertThat(read.toCompletableFuture().isDone(), is(false));
+
+        ready.set(true);
+        in.getReadListener().onDataAvailable();
+        assertThat(read.toCompletableFuture().getNow(null), is(5));
+        assertThat(StandardCharsets.ISO_8859_1.decode(first).toString(), is("Hello"));
+
+        // the stream is not ready, so the read waits for the container
+        ByteBuffer second = ByteBuffer.allocate(16);
+        read = in.readAsync(second);
+        assertThat(read.toCompletableFuture().isDone(), is(false));
+        ready.set(true);
+        in.getReadListener().onDataAvailable();
+        assertThat(read.toCompletableFuture().getNow(null), is(5));
+        assertThat(StandardCharsets.ISO_8859_1.decode(second).toString(), is(" Worl"));
+
+        ready.set(true);
+        read = in.readAsync(ByteBuffer.allocate(16));
+        assertThat(read.toCompletableFuture().getNow(null), is(1));
+
+        read = in.readAsync(ByteBuffer.allocate(16));
+        assertThat(read.toCompletableFuture().getNow(null), is(-1));
+    }
+
+    @Test
+    public void testReadAllBytesAsync() throws IOException {
+        byte[] content = new byte[20000];
+        for (int i = 0; i < content.length; i++)
+            content[i] = (byte) i;
+
+        // content length known, unknown, or shorter than the content
+        for (long contentLength : new long[] { 20000, -1, 10 }) {
+            MockServletInputStream in = new MockServletInputStream(content);
+            CompletionStage<ByteBuffer> read = in.readAllBytesAsync(20000, contentLength);
+            assertThat(read.toCompletableFuture().isDone(), is(false));
+            in.getReadListener().onDataAvailable();
+            ByteBuffer buffer = read.toCompletableFuture().getNow(null);
+            byte[] result = new byte[buffer.remaining()];
+            buffer.get(result);
+            assertArrayEquals(content, result);
+        }
+
+        // content length over the limit, no data is read
+        MockServletInputStream in = new MockServletInputStream(content);
+        CompletionStage<ByteBuffer> read = in.readAllBytesAsync(19999, 20000);
+        assertThat(read.toCompletableFuture().isCompletedExceptionally(), is(true));
+        assertNull(in.getReadListener());
+
+        // content over the limit
+        in = new MockServletInputStream(content);
+        CompletableFuture<ByteBuffer> tooLarge = in.readAllBytesAsync(19999, -1).toCompletableFuture();
+        in.getReadListener().onDataAvailable();
+        ExecutionException e = assertThrows(ExecutionException.class, tooLarge::get);
+        assertThat(e.getCause() instanceof ContentTooLargeException, is(true));
+    }
+
+    @Test
+    public void testAsPublisher() throws IOException {
+        AtomicBoolean ready = new AtomicBoolean();
+        MockServletInputStream in = new MockServletInputStream("Hello World".getBytes(StandardCharsets.ISO_8859_1)) {
+            @Override
+            public boolean isReady() {
+                return ready.get();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (!ready.get())
+                    throw new IllegalStateException();
+                ready.set(false);
+                return super.read(b, off, Math.min(len, 5));
+            }
+        };
+
+        List<String> received = new ArrayList<>();
+        List<Flow.Subscription> subscription = new ArrayList<>();
+        AtomicBoolean completed = new AtomicBoolean();
+        in.asPublisher(16).subscribe(new Flow.Subscriber<ByteBuffer>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription.add(s);
+            }
+
+            @Override
+            public void onNext(ByteBuffer buffer) {
+                received.add(StandardCharsets.ISO_8859_1.decode(buffer).toString());
+            }
+
+            @Override
+            public void onError(Throwable failure) {
+                throw new AssertionError(failure);
+            }
+
+            @Override
+            public void onComplete() {
+                completed.set(true);
+            }
+        });
+
+        // nothing is read without demand
+        ready.set(true);
+        assertThat(in.getReadListener() == null, is(true));
+
+        subscription.get(0).request(1);
+        assertThat(received.size(), is(0));
+
+        // initial call
+        in.getReadListener().onDataAvailable();
+        assertThat(received.toString(), is("[Hello]"));
+
+        // the demand is met by the container call backs
+        subscription.get(0).request(2);
+        assertThat(received.size(), is(1));
+        ready.set(true);
+        in.getReadListener().onDataAvailable();
+        assertThat(received.toString(), is("[Hello,  Worl]"));
+        ready.set(true);
+        in.getReadListener().onDataAvailable();
+        assertThat(received.toString(), is("[Hello,  Worl, d]"));
+        assertThat(completed.get(), is(false));
+
+        subscription.get(0).request(1);
+        assertThat(completed.get(), is(true));
+    }
+
+    @Test
+    public void testAsPublisherCancel() throws IOException {
+        MockServletInputStream in = new MockServletInputStream("Hello World".getBytes(StandardCharsets.ISO_8859_1)) {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+        };
+
+        List<String> received = new ArrayList<>();
+        in.asPublisher(5).subscribe(new Flow.Subscriber<ByteBuffer>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription = s;
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ByteBuffer buffer) {
+                received.add(StandardCharsets.ISO_8859_1.decode(buffer).toString());
+                subscription.cancel();
+            }
+
+            @Override
+            public void onError(Throwable failure) {
+                throw new AssertionError(failure);
+            }
+
+            @Override
+            public void onComplete() {
+                throw new AssertionError();
+            }
+        });
+        in.getReadListener().onDataAvailable();
+
+        assertThat(received.toString(), is("[Hello]"));
+        assertThat(in.isFinished(), is(false));
+    }
+
+    @Test
+    public void testAsPublisherNonPositiveRequest() throws IOException {
+        MockServletInputStream in = new MockServletInputStream("Hello World".getBytes(StandardCharsets.ISO_8859_1)) {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+        };
+
+        List<String> signals = new ArrayList<>();
+        in.asPublisher(5).subscribe(new Flow.Subscriber<ByteBuffer>() {
+            private Flow.Subscription subscription;
+
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription = s;
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(ByteBuffer buffer) {
+                signals.add("onNext");
+                // the error must not be signalled while onNext is in progress
+                subscription.request(0);
+                signals.add("onNext returned");
+            }
+
+            @Override
+            public void onError(Throwable failure) {
+                signals.add("onError " + failure.getClass().getSimpleName());
+            }
+
+            @Override
+            public void onComplete() {
+                signals.add("onComplete");
+            }
+        });
+        in.getReadListener().onDataAvailable();
+
+        assertThat(signals.toString(), is("[onNext, onNext returned, onError IllegalArgumentException]"));
+    }
+}
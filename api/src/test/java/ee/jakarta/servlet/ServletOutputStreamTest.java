@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package ee.jakarta.servlet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import jakarta.servlet.WriteListener;
+import java.io.CharConversionException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class ServletOutputStreamTest {
+
+    @ParameterizedTest
+    @MethodSource("printCharsetTest")
+    public void testPrintCharset(String charset, String content) throws IOException {
+        MockServletOutputStream out = new CountingOutputStream();
+        out.print(content, Charset.forName(charset));
+        assertArrayEquals(content.getBytes(charset), out.takeOutput());
+        out.println(content, Charset.forName(charset));
+        assertArrayEquals((content + "\r\n").getBytes(charset), out.takeOutput());
+        // a single write each, as required in non-blocking mode
+        assertThat(((CountingOutputStream) out).writes, is(2));
+    }
+
+    @Test
+    public void testPrintlnSingleWrite() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        String large = "x".repeat(2000);
+        out.println(large);
+        out.println(Long.MIN_VALUE);
+        out.println(-42);
+        out.println('c');
+        out.println(false);
+        out.println(1.5f);
+        out.println();
+        out.print(large);
+        assertThat(out.writes, is(8));
+        assertThat(out.takeOutputAsString(), is(large + "\r\n-9223372036854775808\r\n-42\r\nc\r\nfalse\r\n1.5\r\n\r\n" + large));
+    }
+
+    private static class CountingOutputStream extends MockServletOutputStream {
+        private int writes;
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            writes++;
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            writes++;
+            super.write(b);
+        }
+    }
+
+    private static Stream<Arguments> printCharsetTest() {
+        String mixed = "héllo € 😀 \uD800x \uDC00";
+        String large = "é€😀abc".repeat(500);
+        return Stream.of("ISO-8859-1", "US-ASCII", "UTF-8", "UTF-16", "Shift_JIS")
+                .flatMap(charset -> Stream.of(
+                        Arguments.of(charset, "Hello World"),
+                        Arguments.of(charset, mixed),
+                        Arguments.of(charset, large),
+                        Arguments.of(charset, "\uD83D")));
+    }
+
+    @Test
+    public void testPrintNumbers() throws IOException {
+        MockServletOutputStream out = new MockServletOutputStream();
+        out.print(0);
+        out.print(' ');
+        out.print(-42);
+        out.print(' ');
+        out.print(Integer.MIN_VALUE);
+        out.print(' ');
+        out.print(Long.MAX_VALUE);
+        out.print(' ');
+        out.print(Long.MIN_VALUE);
+        out.print(' ');
+        out.print(true);
+        out.println(1.5d);
+        assertThat(out.takeOutputAsString(), is("0 -42 -2147483648 9223372036854775807 -9223372036854775808 true1.5\r\n"));
+    }
+
+    @Test
+    public void testPrintNotISO8859_1() throws IOException {
+        MockServletOutputStream out = new MockServletOutputStream();
+        assertThrows(CharConversionException.class, () -> out.print("café €"));
+        assertThrows(CharConversionException.class, () -> out.print('€'));
+        assertThat(out.takeOutputAsString(), is(""));
+    }
+
+    @Test
+    public void testTransferFrom() throws IOException {
+        byte[] content = new byte[20000];
+        for (int i = 0; i < content.length; i++)
+            content[i] = (byte) i;
+        Path file = Files.createTempFile("transfer", ".bin");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.READ)) {
+            channel.write(ByteBuffer.wrap(content));
+
+            // blocking mode transfers until the count or the end of the file
+            MockServletOutputStream blocking = new MockServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+            };
+            assertThat(blocking.transferFrom(channel, 100, 15000), is(15000L));
+            assertArrayEquals(Arrays.copyOfRange(content, 100, 15100), blocking.takeOutput());
+            assertThat(blocking.transferFrom(channel, 19000, 5000), is(1000L));
+            assertArrayEquals(Arrays.copyOfRange(content, 19000, 20000), blocking.takeOutput());
+
+            // non-blocking mode stops once the stream is no longer ready
+            AtomicBoolean ready = new AtomicBoolean(true);
+            MockServletOutputStream nonBlocking = new MockServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return ready.get();
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    super.write(b, off, len);
+                    ready.set(false);
+                }
+            };
+            long transferred = nonBlocking.transferFrom(channel, 0, content.length);
+            assertThat(transferred, is(8192L));
+            assertThrows(IllegalStateException.class, () -> nonBlocking.transferFrom(channel, 8192, content.length - 8192));
+            ready.set(true);
+            while (transferred < content.length) {
+                transferred += nonBlocking.transferFrom(channel, transferred, content.length - transferred);
+                ready.set(true);
+            }
+            assertArrayEquals(content, nonBlocking.takeOutput());
+            assertThat(channel.position(), is(20000L));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testWriteByteBufferNonBlocking() throws IOException {
+        byte[] content = new byte[20000];
+        for (int i = 0; i < content.length; i++)
+            content[i] = (byte) i;
+        AtomicBoolean ready = new AtomicBoolean(true);
+        MockServletOutputStream out = new MockServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return ready.get();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (!ready.get())
+                    throw new IllegalStateException();
+                super.write(b, off, len);
+                ready.set(false);
+            }
+        };
+
+        // a direct buffer is written whole with a single write
+        ByteBuffer direct = ByteBuffer.allocateDirect(content.length);
+        direct.put(content).flip();
+        out.write(direct);
+        assertThat(direct.hasRemaining(), is(false));
+        assertThrows(IllegalStateException.class, () -> out.write(direct));
+        assertArrayEquals(content, out.takeOutput());
+
+        // so are the buffers of an array
+        ByteBuffer[] buffers = { ByteBuffer.wrap(content, 0, 10), ByteBuffer.allocate(0), ByteBuffer.wrap(content, 10, 20) };
+        ready.set(true);
+        out.write(buffers);
+        assertThat(buffers[0].hasRemaining(), is(false));
+        assertThat(buffers[2].hasRemaining(), is(false));
+        assertArrayEquals(Arrays.copyOfRange(content, 0, 30), out.takeOutput());
+    }
+
+    @Test
+    public void testWriteAsync() throws IOException {
+        AtomicBoolean ready = new AtomicBoolean();
+        AtomicReference<WriteListener> listener = new AtomicReference<>();
+        MockServletOutputStream out = new MockServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return ready.get();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                if (listener.getAndSet(writeListener) != null)
+                    throw new IllegalStateException();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (!ready.get())
+                    throw new IllegalStateException();
+                super.write(b, off, len);
+                // every write fills the network buffer
+                ready.set(false);
+            }
+        };
+
+        CompletionStage<Void> first = out.writeAsync(ByteBuffer.wrap("Hello".getBytes(StandardCharsets.ISO_8859_1)));
+        CompletionStage<Void> second = out.writeAsync(ByteBuffer.wrap(" World".getBytes(StandardCharsets.ISO_8859_1)));
+        assertNotNull(listener.get());
+        assertThat(first.toCompletableFuture().isDone(), is(false));
+
+        // initial call
+        ready.set(true);
+        listener.get().onWritePossible();
+        assertThat(out.takeOutputAsString(), is("Hello"));
+        assertThat(first.toCompletableFuture().isDone(), is(false));
+
+        ready.set(true);
+        listener.get().onWritePossible();
+        assertThat(first.toCompletableFuture().isDone(), is(true));
+        assertThat(second.toCompletableFuture().isDone(), is(false));
+        assertThat(out.takeOutputAsString(), is(" World"));
+
+        ready.set(true);
+        listener.get().onWritePossible();
+        assertThat(second.toCompletableFuture().isDone(), is(true));
+
+        // the stream is ready, so the write is performed by the caller
+        ready.set(true);
+        CompletionStage<Void> third = out.writeAsync(ByteBuffer.wrap("!".getBytes(StandardCharsets.ISO_8859_1)));
+        assertThat(out.takeOutputAsString(), is("!"));
+
+        listener.get().onError(new IOException("test"));
+        assertThat(third.toCompletableFuture().isCompletedExceptionally(), is(true));
+        assertThat(out.writeAsync(ByteBuffer.allocate(1)).toCompletableFuture().isCompletedExceptionally(), is(true));
+    }
+
+    @Test
+    public void testWriteAsyncConcurrentFirstCalls() throws Exception {
+        AtomicReference<WriteListener> listener = new AtomicReference<>();
+        MockServletOutputStream out = new MockServletOutputStream() {
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                try {
+                    // widen the window between the check and the install
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (listener.getAndSet(writeListener) != null)
+                    throw new IllegalStateException();
+            }
+        };
+
+        CompletableFuture<CompletionStage<Void>> other = CompletableFuture
+                .supplyAsync(() -> out.writeAsync(ByteBuffer.allocate(1)));
+        CompletionStage<Void> first = out.writeAsync(ByteBuffer.allocate(1));
+        assertNotNull(other.get());
+        assertNotNull(first);
+        assertNotNull(listener.get());
+    }
+
+    @Test
+    public void testWriteFrom() throws IOException {
+        AtomicBoolean ready = new AtomicBoolean();
+        AtomicReference<WriteListener> listener = new AtomicReference<>();
+        MockServletOutputStream out = new MockServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return ready.get();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+                listener.set(writeListener);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (!ready.get())
+                    throw new IllegalStateException();
+                super.write(b, off, len);
+                ready.set(false);
+            }
+        };
+
+        CompletionStage<Void> written;
+        try (SubmissionPublisher<ByteBuffer> publisher = new SubmissionPublisher<>(Runnable::run, 4)) {
+            written = out.writeFrom(publisher);
+            publisher.submit(ByteBuffer.wrap("Hello".getBytes(StandardCharsets.ISO_8859_1)));
+            publisher.submit(ByteBuffer.wrap(" World".getBytes(StandardCharsets.ISO_8859_1)));
+            // only one buffer is requested until the stream is ready again
+            assertThat(publisher.estimateMaximumLag(), is(1));
+
+            ready.set(true);
+            listener.get().onWritePossible();
+            assertThat(out.takeOutputAsString(), is("Hello"));
+            ready.set(true);
+            listener.get().onWritePossible();
+            assertThat(out.takeOutputAsString(), is(" World"));
+            assertThat(publisher.estimateMaximumLag(), is(0));
+        }
+        // the last write is still pending
+        assertThat(written.toCompletableFuture().isDone(), is(false));
+        ready.set(true);
+        listener.get().onWritePossible();
+        assertThat(written.toCompletableFuture().isDone(), is(true));
+    }
+}
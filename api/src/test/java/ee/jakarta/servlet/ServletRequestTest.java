@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package ee.jakarta.servlet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletRequestWrapper;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class ServletRequestTest {
+
+    @Test
+    public void testParameterAccess() {
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        parameters.put("a", new String[] { "1", "2" });
+        parameters.put("b", new String[] { "3" });
+        ServletRequest request = new ServletRequestWrapper(new MockServletRequest(new MockServletContext()) {
+            @Override
+            public String[] getParameterValues(String name) {
+                return parameters.get(name);
+            }
+
+            @Override
+            public Map<String, String[]> getParameterMap() {
+                return parameters;
+            }
+        });
+
+        assertThat(request.getParameter("a", 0), is("1"));
+        assertThat(request.getParameter("a", 1), is("2"));
+        assertThat(request.getParameter("a", 2), nullValue());
+        assertThat(request.getParameter("c", 0), nullValue());
+        assertThrows(IndexOutOfBoundsException.class, () -> request.getParameter("a", -1));
+        assertThat(request.getParameterCount("a"), is(2));
+        assertThat(request.getParameterCount("c"), is(0));
+
+        List<String> visited = new ArrayList<>();
+        request.forEachParameter((name, values) -> {
+            visited.add(name + values);
+            assertThrows(UnsupportedOperationException.class, () -> values.set(0, "x"));
+        });
+        assertThat(visited, contains("a[1, 2]", "b[3]"));
+    }
+
+    @Test
+    public void testWrapperOverrides() {
+        Map<String, String[]> parameters = new LinkedHashMap<>();
+        parameters.put("a", new String[] { "1", "2" });
+        ServletRequest request = new ServletRequestWrapper(new MockServletRequest(new MockServletContext())) {
+            @Override
+            public String[] getParameterValues(String name) {
+                return parameters.get(name);
+            }
+
+            @Override
+            public Map<String, String[]> getParameterMap() {
+                return parameters;
+            }
+        };
+
+        assertThat(request.getParameter("a", 1), is("2"));
+        assertThat(request.getParameterCount("a"), is(2));
+
+        List<String> visited = new ArrayList<>();
+        request.forEachParameter((name, values) -> visited.add(name + values));
+        assertThat(visited, contains("a[1, 2]"));
+    }
+}
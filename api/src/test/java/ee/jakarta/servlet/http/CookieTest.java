@@ -26,7 +26,23 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import ee.jakarta.servlet.MockServletConfig;
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.CookieTemplate;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
@@ -271,4 +287,176 @@ public class CookieTest {
         assertNotEquals(cookie, clone);
         assertNotEquals(cookie.hashCode(), clone.hashCode());
     }
+
+    @Test
+    public void testStandardAttributes() {
+        Cookie cookie = new Cookie("name", "value");
+        cookie.setAttribute("samesite", "Lax");
+        cookie.setAttribute("PARTITIONED", "");
+        cookie.setAttribute("Z0", "V0");
+        cookie.setAttribute("max-age", "10");
+        cookie.setPath("/");
+        assertThat(cookie.getAttribute("SameSite"), is("Lax"));
+        assertThat(cookie.getAttribute("Partitioned"), is(""));
+        assertThat(cookie.getAttribute("MAX-AGE"), is("10"));
+        assertThat(cookie.getMaxAge(), is(10));
+        assertThat(cookie.getAttributes().size(), is(5));
+        assertThat(cookie.getAttributes().keySet(), contains("Max-Age", "Partitioned", "Path", "SameSite", "Z0"));
+        assertThat(cookie.getAttributes().get("path"), is("/"));
+
+        Map<String, String> attributes = cookie.getAttributes();
+        cookie.setAttribute("SameSite", null);
+        assertThat(attributes.size(), is(4));
+        assertThat(attributes.containsKey("SameSite"), is(false));
+
+        // the standard attributes are merged with the others in the order of their names
+        cookie.setAttribute("A0", "V1");
+        cookie.setAttribute("n0", "V2");
+        cookie.setDomain("example.com");
+        assertThat(attributes.keySet(), contains("A0", "Domain", "Max-Age", "n0", "Partitioned", "Path", "Z0"));
+        assertThat(attributes.values(), contains("V1", "example.com", "10", "V2", "", "/", "V0"));
+        Map<String, String> copy = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        copy.putAll(attributes);
+        assertEquals(copy, attributes);
+        assertEquals(attributes, copy);
+        assertEquals(copy.hashCode(), attributes.hashCode());
+        assertThrows(UnsupportedOperationException.class, () -> attributes.entrySet().iterator().remove());
+    }
+
+    @Test
+    public void testSerialization() throws Exception {
+        Cookie cookie = new Cookie("name", "value");
+        cookie.setDomain("domain");
+        cookie.setMaxAge(10);
+        cookie.setHttpOnly(true);
+        cookie.setAttribute("SameSite", "Strict");
+        cookie.setAttribute("A0", "V0");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(cookie);
+        }
+        Cookie copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (Cookie) in.readObject();
+        }
+
+        assertEquals(cookie, copy);
+        assertThat(copy.getDomain(), is("domain"));
+        assertThat(copy.getMaxAge(), is(10));
+        assertThat(copy.isHttpOnly(), is(true));
+        assertThat(copy.getPath(), nullValue());
+        assertThat(copy.getAttribute("samesite"), is("Strict"));
+        assertThat(copy.getAttribute("a0"), is("V0"));
+    }
+
+    @Test
+    public void testSetCookie() throws Exception {
+        Cookie cookie = new Cookie("name", "value");
+        StringBuilder header = new StringBuilder();
+        cookie.appendSetCookie(header);
+        assertThat(header.toString(), is("name=value"));
+
+        cookie.setAttribute("Z0", "z");
+        cookie.setAttribute("A0", "");
+        cookie.setPath("/");
+        cookie.setMaxAge(10);
+        cookie.setSecure(true);
+        cookie.setHttpOnly(true);
+        cookie.setAttribute("SameSite", "Lax");
+        header.setLength(0);
+        cookie.appendSetCookie(header);
+        String expected = "name=value; Max-Age=10; Path=/; Secure; HttpOnly; SameSite=Lax; A0; Z0=z";
+        assertThat(header.toString(), is(expected));
+        assertThat(new String(cookie.toSetCookieBytes(), StandardCharsets.ISO_8859_1), is(expected));
+
+        cookie.setValue(null);
+        assertThat(new String(cookie.toSetCookieBytes(), StandardCharsets.ISO_8859_1),
+                is("name=; Max-Age=10; Path=/; Secure; HttpOnly; SameSite=Lax; A0; Z0=z"));
+    }
+
+    @Test
+    public void testCookieTemplate() throws Exception {
+        Cookie cookie = new Cookie("JSESSIONID", "ignored");
+        cookie.setPath("/app");
+        cookie.setHttpOnly(true);
+        cookie.setAttribute("SameSite", "Strict");
+        CookieTemplate template = CookieTemplate.of(cookie);
+        cookie.setSecure(true);
+
+        assertThat(template.getName(), is("JSESSIONID"));
+        assertThat(template.getAttribute("path"), is("/app"));
+        assertThat(template.getAttribute("Secure"), nullValue());
+        assertThat(template.getAttributes().keySet(), contains("HttpOnly", "Path", "SameSite"));
+        assertThrows(UnsupportedOperationException.class, () -> template.getAttributes().put("Secure", ""));
+
+        String expected = "JSESSIONID=abc; Path=/app; HttpOnly; SameSite=Strict";
+        assertThat(template.toSetCookie("abc"), is(expected));
+        assertThat(new String(template.toSetCookieBytes("abc"), StandardCharsets.ISO_8859_1), is(expected));
+        StringBuilder header = new StringBuilder();
+        template.appendSetCookie(header, "abc");
+        assertThat(header.toString(), is(expected));
+        assertThat(template.toSetCookie(null), is("JSESSIONID=; Path=/app; HttpOnly; SameSite=Strict"));
+
+        Cookie created = template.newCookie("abc");
+        assertThat(created.getValue(), is("abc"));
+        assertThat(created.getSecure(), is(false));
+        assertThat(new String(created.toSetCookieBytes(), StandardCharsets.ISO_8859_1), is(expected));
+        created.setSecure(true);
+        assertThat(template.toSetCookie("abc"), is(expected));
+    }
+
+    @Test
+    public void testSetCookieInjection() throws Exception {
+        Cookie cookie = new Cookie("name", "a;b");
+        StringBuilder header = new StringBuilder();
+        assertThrows(IllegalArgumentException.class, () -> cookie.appendSetCookie(header));
+        assertThat(header.length(), is(0));
+        cookie.setValue("a\r\nSet-Cookie: x=y");
+        assertThrows(IllegalArgumentException.class, () -> cookie.toSetCookieBytes());
+        cookie.setValue("\"quoted\"");
+        assertThat(new String(cookie.toSetCookieBytes(), StandardCharsets.ISO_8859_1), is("name=\"quoted\""));
+
+        cookie.setPath("/; Domain=evil.example");
+        assertThrows(IllegalArgumentException.class, () -> cookie.appendSetCookie(header));
+        assertThat(header.length(), is(0));
+        assertThrows(IllegalArgumentException.class, () -> CookieTemplate.of(cookie));
+        cookie.setPath("/");
+        cookie.setAttribute("X", "1\n2");
+        assertThrows(IllegalArgumentException.class, () -> cookie.toSetCookieBytes());
+        cookie.setAttribute("X", null);
+
+        CookieTemplate template = CookieTemplate.of(cookie);
+        assertThrows(IllegalArgumentException.class, () -> template.toSetCookie("a b"));
+        assertThrows(IllegalArgumentException.class, () -> template.toSetCookieBytes("a\rb"));
+        assertThrows(IllegalArgumentException.class, () -> template.appendSetCookie(header, "a;b"));
+        assertThat(header.length(), is(0));
+        assertThat(template.toSetCookie("abc"), is("name=abc; Path=/"));
+    }
+
+    @Test
+    public void testRequestCookies() {
+        // the cookies come from the wrapper, not from the wrapped request
+        HttpServletRequest request = new HttpServletRequestWrapper(
+                new MockHttpServletRequest(new MockServletConfig().getServletContext())) {
+            @Override
+            public Enumeration<String> getHeaders(String name) {
+                return "cookie".equalsIgnoreCase(name)
+                        ? Collections.enumeration(Arrays.asList(" a=1;ab = 2 ; flag; =x;b=\"q\"", "c=;a=3"))
+                        : Collections.emptyEnumeration();
+            }
+        };
+
+        assertThat(request.getCookie("a"), is("1"));
+        assertThat(request.getCookie("ab"), is("2"));
+        assertThat(request.getCookie("b"), is("\"q\""));
+        assertThat(request.getCookie("c"), is(""));
+        assertThat(request.getCookie("A"), nullValue());
+        assertThat(request.getCookie("flag"), nullValue());
+        assertThat(request.getCookie("d"), nullValue());
+
+        List<String> cookies = new ArrayList<>();
+        request.forEachCookie((name, value) -> cookies.add(name + ":" + value));
+        assertThat(cookies, contains("a:1", "ab:2", "b:\"q\"", "c:", "a:3"));
+    }
 }
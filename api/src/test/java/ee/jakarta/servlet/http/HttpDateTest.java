@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package ee.jakarta.servlet.http;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import jakarta.servlet.http.HttpDate;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class HttpDateTest {
+
+    @ParameterizedTest
+    @ValueSource(longs = { 0L, 784111777000L, 784111777999L, 951782400000L, 1709164800000L, -1L, -62135596800000L,
+            253402300799999L })
+    public void testFormat(long millis) {
+        String expected = DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(millis).atOffset(ZoneOffset.UTC));
+        // RFC_1123_DATE_TIME does not pad the day
+        if (expected.charAt(6) == ' ')
+            expected = expected.substring(0, 5) + "0" + expected.substring(5);
+
+        assertThat(HttpDate.format(millis), is(expected));
+
+        byte[] buffer = new byte[HttpDate.LENGTH + 2];
+        assertThat(HttpDate.format(millis, buffer, 1), is(HttpDate.LENGTH));
+        assertThat(new String(buffer, 1, HttpDate.LENGTH, StandardCharsets.US_ASCII), is(expected));
+
+        assertThat(HttpDate.parse(expected), is(Math.floorDiv(millis, 1000) * 1000));
+    }
+
+    @Test
+    public void testFormatOutOfRange() {
+        assertThrows(IllegalArgumentException.class, () -> HttpDate.format(253402300800000L));
+        assertThrows(IndexOutOfBoundsException.class, () -> HttpDate.format(0, new byte[HttpDate.LENGTH], 1));
+    }
+
+    @Test
+    public void testNow() {
+        long before = System.currentTimeMillis() / 1000 * 1000;
+        String now = HttpDate.now();
+        long after = System.currentTimeMillis();
+        long parsed = HttpDate.parse(now);
+        assertThat(parsed >= before && parsed <= after, is(true));
+    }
+
+    @Test
+    public void testParse() {
+        assertThat(HttpDate.parse("Sun, 06 Nov 1994 08:49:37 GMT"), is(784111777000L));
+        assertThat(HttpDate.parse(" Sun, 06 Nov 1994 08:49:37 GMT "), is(784111777000L));
+        assertThat(HttpDate.parse("Sunday, 06-Nov-94 08:49:37 GMT"), is(784111777000L));
+        assertThat(HttpDate.parse("Sun Nov  6 08:49:37 1994"), is(784111777000L));
+        // cached
+        assertThat(HttpDate.parse("Sun Nov  6 08:49:37 1994"), is(784111777000L));
+
+        assertThat(HttpDate.parse("Sun, 06 Xyz 1994 08:49:37 GMT"), is(-1L));
+        assertThat(HttpDate.parse("Sun, 06 Nov 1994 24:49:37 GMT"), is(-1L));
+        assertThat(HttpDate.parse("Sun, 06 Nov 1994 08:49:37 UTC"), is(-1L));
+        assertThat(HttpDate.parse("yesterday"), is(-1L));
+
+        // impossible dates and wrong weekdays
+        assertThat(HttpDate.parse("Sat, 31 Feb 2024 08:49:37 GMT"), is(-1L));
+        assertThat(HttpDate.parse("Thu, 29 Feb 2024 08:49:37 GMT"), is(1709196577000L));
+        assertThat(HttpDate.parse("Thu, 29 Feb 2023 08:49:37 GMT"), is(-1L));
+        assertThat(HttpDate.parse("Sun, 31 Apr 1994 08:49:37 GMT"), is(-1L));
+        assertThat(HttpDate.parse("Sun, 06 Nov 1994 08:49:60 GMT"), is(-1L));
+        assertThat(HttpDate.parse("Mon, 06 Nov 1994 08:49:37 GMT"), is(-1L));
+        assertThat(HttpDate.parse("Monday, 06-Nov-94 08:49:37 GMT"), is(-1L));
+        assertThat(HttpDate.parse("Sunday, 31-Feb-94 08:49:37 GMT"), is(-1L));
+        assertThat(HttpDate.parse("Mon Nov  6 08:49:37 1994"), is(-1L));
+        assertThat(HttpDate.parse("Sun Feb 31 08:49:37 1994"), is(-1L));
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package ee.jakarta.servlet.http;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import ee.jakarta.servlet.MockServletConfig;
+import jakarta.servlet.http.HttpHeader;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class HttpHeaderTest {
+
+    @Test
+    public void testOf() {
+        assertSame(HttpHeader.ACCEPT, HttpHeader.of("accept"));
+        assertSame(HttpHeader.X_REQUEST_ID, HttpHeader.of("X-REQUEST-ID"));
+
+        HttpHeader custom = HttpHeader.of("X-Custom");
+        assertThat(custom.getName(), is("X-Custom"));
+        assertThat(custom.getLowerCaseName(), is("x-custom"));
+        assertEquals(custom, HttpHeader.of("x-CUSTOM"));
+        assertEquals(custom.hashCode(), HttpHeader.of("x-CUSTOM").hashCode());
+        assertNotEquals(custom, HttpHeader.ACCEPT);
+        assertThrows(IllegalArgumentException.class, () -> HttpHeader.of("X Custom"));
+        assertThrows(IllegalArgumentException.class, () -> HttpHeader.of(""));
+
+        assertThat(HttpHeader.AUTHORIZATION.is("authorization"), is(true));
+        assertThat(HttpHeader.AUTHORIZATION.is("Authorisation"), is(false));
+        assertThat(HttpHeader.AUTHORIZATION.is(null), is(false));
+    }
+
+    @Test
+    public void testHeaderValues() {
+        HttpServletRequest request = new MockHttpServletRequest(new MockServletConfig().getServletContext()) {
+            @Override
+            public Enumeration<String> getHeaders(String name) {
+                switch (name) {
+                case "Accept":
+                    return Collections.enumeration(Arrays.asList("text/html", "*/*"));
+                case "Host":
+                    return Collections.enumeration(Collections.singletonList("localhost"));
+                default:
+                    return Collections.emptyEnumeration();
+                }
+            }
+        };
+
+        List<String> accept = request.getHeaderValues(HttpHeader.ACCEPT);
+        assertThat(accept, contains("text/html", "*/*"));
+        assertThrows(UnsupportedOperationException.class, () -> accept.add("text/plain"));
+        assertThat(request.getHeaderValues(HttpHeader.HOST), contains("localhost"));
+        assertThat(request.getHeaderValues("X-Missing"), is(empty()));
+    }
+
+    @Test
+    public void testWrapperOverrides() {
+        HttpServletRequest request = new HttpServletRequestWrapper(
+                new MockHttpServletRequest(new MockServletConfig().getServletContext())) {
+            @Override
+            public String getHeader(String name) {
+                return "Content-Length".equals(name) ? "5" : null;
+            }
+
+            @Override
+            public Enumeration<String> getHeaders(String name) {
+                return "Accept".equals(name) ? Collections.enumeration(Arrays.asList("text/html", "*/*"))
+                        : Collections.emptyEnumeration();
+            }
+
+            @Override
+            public int getIntHeader(String name) {
+                return "Content-Length".equals(name) ? 5 : -1;
+            }
+
+            @Override
+            public long getDateHeader(String name) {
+                return "Date".equals(name) ? 1000L : -1L;
+            }
+        };
+
+        assertThat(request.getHeader(HttpHeader.CONTENT_LENGTH), is("5"));
+        assertThat(request.getHeaderValues("Accept"), contains("text/html", "*/*"));
+        assertThat(request.getHeaderValues(HttpHeader.ACCEPT), contains("text/html", "*/*"));
+        assertThat(request.getIntHeader(HttpHeader.CONTENT_LENGTH), is(5));
+        assertThat(request.getDateHeader(HttpHeader.DATE), is(1000L));
+    }
+}
@@ -18,27 +18,42 @@ package ee.jakarta.servlet.http;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.anyOf;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
+import ee.jakarta.servlet.MockAsyncContext;
 import ee.jakarta.servlet.MockServletConfig;
 import ee.jakarta.servlet.MockServletOutputStream;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ContentTooLargeException;
 import jakarta.servlet.ServletConfig;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 public class HttpServletTest {
     public interface Handler {
@@ -133,6 +148,126 @@ public class HttpServletTest {
         assertThat(actual, !actual.contains(testHeader));
     }
 
+    @Test
+    public void testTraceSensitiveHeadersInitParam()
+            throws ServletException, IOException {
+        HttpServlet servlet = new HttpServlet() {
+            private static final long serialVersionUID = -1793018346532406127L;
+        };
+
+        MockServletConfig servletConfig = new MockServletConfig();
+        servletConfig.setInitParameter(HttpServlet.SENSITIVE_HEADERS, "X-Secret, authorization");
+        servlet.init(servletConfig);
+
+        MockHttpServletRequest request = new MockHttpServletRequest(servletConfig.getServletContext()) {
+            @Override
+            public String getMethod() {
+                return "TRACE";
+            }
+
+            @Override
+            public String getRequestURI() {
+                return "/trace";
+            }
+
+            @Override
+            public String getProtocol() {
+                return "HTTP/1.1";
+            }
+
+            @Override
+            public Enumeration<String> getHeaderNames() {
+                return Collections.enumeration(Arrays.asList("x-secret-token", "AUTHORIZATION", "Cookie", "Accept"));
+            }
+
+            @Override
+            public Enumeration<String> getHeaders(String name) {
+                return Collections.enumeration(Collections.singletonList(name.toLowerCase()));
+            }
+        };
+
+        AtomicLong contentLength = new AtomicLong(-1);
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public void setContentLengthLong(long len) {
+                contentLength.set(len);
+            }
+        };
+
+        servlet.service(request, response);
+        String actual = response.getMockServletOutputStream().takeOutputAsString();
+
+        assertThat(actual, is("TRACE /trace HTTP/1.1\r\nCookie: cookie\r\nAccept: accept\r\n"));
+        assertThat(contentLength.get(), is((long) actual.length()));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 10, 20000 })
+    public void testTraceWrites(int valueLength)
+            throws ServletException, IOException {
+        HttpServlet servlet = new HttpServlet() {
+            private static final long serialVersionUID = 3094157264807713526L;
+        };
+
+        MockServletConfig servletConfig = new MockServletConfig();
+        servlet.init(servletConfig);
+
+        String value = "v".repeat(valueLength);
+        MockHttpServletRequest request = new MockHttpServletRequest(servletConfig.getServletContext()) {
+            @Override
+            public String getMethod() {
+                return "TRACE";
+            }
+
+            @Override
+            public String getRequestURI() {
+                return "/trace";
+            }
+
+            @Override
+            public String getProtocol() {
+                return "HTTP/1.1";
+            }
+
+            @Override
+            public Enumeration<String> getHeaderNames() {
+                return Collections.enumeration(Arrays.asList("Accept", "X-Long"));
+            }
+
+            @Override
+            public Enumeration<String> getHeaders(String name) {
+                return Collections.enumeration(Collections.singletonList(name.equals("Accept") ? "*/*" : value));
+            }
+        };
+
+        List<Integer> writes = new ArrayList<>();
+        MockServletOutputStream out = new MockServletOutputStream() {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                writes.add(len);
+                super.write(b, off, len);
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                writes.add(1);
+                super.write(b);
+            }
+        };
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return out;
+            }
+        };
+
+        servlet.service(request, response);
+        String expected = "TRACE /trace HTTP/1.1\r\nAccept: */*\r\nX-Long: " + value + "\r\n";
+        assertThat(out.takeOutputAsString(), is(expected));
+        // the echo is written in chunks of up to 8192 bytes
+        assertThat(writes.size(), is((expected.length() + 8191) / 8192));
+    }
+
     private static Stream<Arguments> traceHeadersTest() {
         return Stream.of(
                 Arguments.of("Authorization",
@@ -243,6 +378,90 @@ public class HttpServletTest {
         );
     }
 
+    @ParameterizedTest
+    @ValueSource(strings = { "UTF-8", "ISO-8859-1", "UTF-16", "UTF-16LE", "Shift_JIS" })
+    public void testLegacyHeadEncodedLength(String encoding)
+            throws ServletException, IOException {
+        String content = "h\u00e9llo \u20ac \uD83D\uDE00";
+        HttpServlet servlet = new HttpServlet() {
+            private static final long serialVersionUID = -4412519866128703514L;
+
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+                response.getWriter().print(content);
+            }
+        };
+
+        MockServletConfig servletConfig = new MockServletConfig();
+        servletConfig.setInitParameter("jakarta.servlet.http.legacyDoHead", "true");
+        servlet.init(servletConfig);
+
+        MockHttpServletRequest request = new MockHttpServletRequest(servletConfig.getServletContext()) {
+            @Override
+            public String getMethod() {
+                return "HEAD";
+            }
+        };
+
+        AtomicLong contentLength = new AtomicLong(-1);
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public String getCharacterEncoding() {
+                return encoding;
+            }
+
+            @Override
+            public void setContentLengthLong(long len) {
+                contentLength.set(len);
+            }
+        };
+
+        servlet.service(request, response);
+
+        assertThat(encoding, contentLength.get(), is((long) content.getBytes(encoding).length));
+    }
+
+    @Test
+    public void testContentLengthForHead()
+            throws ServletException, IOException {
+        HttpServlet servlet = new HttpServlet() {
+            private static final long serialVersionUID = 2771509624870148207L;
+
+            @Override
+            protected long getContentLengthForHead(HttpServletRequest req) {
+                return 4096;
+            }
+
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+                throw new IllegalStateException("doGet called for HEAD");
+            }
+        };
+
+        ServletConfig servletConfig = new MockServletConfig();
+        servlet.init(servletConfig);
+
+        MockHttpServletRequest request = new MockHttpServletRequest(servletConfig.getServletContext()) {
+            @Override
+            public String getMethod() {
+                return "HEAD";
+            }
+        };
+
+        AtomicLong contentLength = new AtomicLong(-1);
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public void setContentLengthLong(long len) {
+                contentLength.set(len);
+            }
+        };
+
+        servlet.service(request, response);
+
+        assertThat(contentLength.get(), is(4096L));
+        assertThat(response.getMockServletOutputStream(), nullValue());
+    }
+
     @Test
     public void testContainerHead()
             throws ServletException, IOException {
@@ -275,4 +494,316 @@ public class HttpServletTest {
         // Check output makes it to container (which should then consume it)
         assertThat(actual, is("Hello World"));
     }
+
+    @Test
+    public void testOptionsAllow()
+            throws ServletException, IOException {
+        class GetServlet extends HttpServlet {
+            private static final long serialVersionUID = -3254513372046151327L;
+
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+            }
+        }
+
+        HttpServlet servlet = new GetServlet() {
+            private static final long serialVersionUID = 6328155512442409812L;
+
+            @Override
+            protected void doDelete(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+            }
+        };
+
+        ServletConfig servletConfig = new MockServletConfig();
+        servlet.init(servletConfig);
+
+        MockHttpServletRequest request = new MockHttpServletRequest(servletConfig.getServletContext()) {
+            @Override
+            public String getMethod() {
+                return "OPTIONS";
+            }
+        };
+
+        List<String> allow = new ArrayList<>();
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public void setHeader(String name, String value) {
+                if ("Allow".equals(name)) {
+                    allow.add(value);
+                }
+            }
+        };
+
+        servlet.service(request, response);
+        servlet.service(request, response);
+
+        assertThat(allow, contains("GET, HEAD, DELETE, TRACE, OPTIONS", "GET, HEAD, DELETE, TRACE, OPTIONS"));
+    }
+
+    @ParameterizedTest
+    @MethodSource("preconditionsTest")
+    public void testPreconditions(String method, String header, String value, int expectedStatus)
+            throws ServletException, IOException {
+        AtomicBoolean handled = new AtomicBoolean();
+        HttpServlet servlet = new HttpServlet() {
+            private static final long serialVersionUID = 4163265297465135093L;
+
+            @Override
+            protected String getETag(HttpServletRequest req) {
+                return "\"v2\"";
+            }
+
+            @Override
+            protected long getLastModified(HttpServletRequest req) {
+                return 784111777123L;
+            }
+
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+                handled.set(true);
+            }
+
+            @Override
+            protected void doPut(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+                handled.set(true);
+            }
+        };
+
+        ServletConfig servletConfig = new MockServletConfig();
+        servlet.init(servletConfig);
+
+        MockHttpServletRequest request = new MockHttpServletRequest(servletConfig.getServletContext()) {
+            @Override
+            public String getMethod() {
+                return method;
+            }
+
+            @Override
+            public String getHeader(String name) {
+                return name.equals(header) ? value : null;
+            }
+
+            @Override
+            public Enumeration<String> getHeaders(String name) {
+                return Collections.enumeration(name.equals(header) ? Collections.singletonList(value) : Collections.emptyList());
+            }
+
+            @Override
+            public long getDateHeader(String name) {
+                // Sun, 06 Nov 1994 08:49:37 GMT
+                return name.equals(header) ? 784111777000L : -1;
+            }
+        };
+
+        AtomicLong status = new AtomicLong(200);
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public void setStatus(int sc) {
+                status.set(sc);
+            }
+
+            @Override
+            public void sendError(int sc) throws IOException {
+                status.set(sc);
+            }
+        };
+
+        servlet.service(request, response);
+
+        assertThat(method + " " + header + ": " + value, status.get(), is((long) expectedStatus));
+        assertThat(method + " " + header + ": " + value, handled.get(), is(expectedStatus == 200));
+    }
+
+    private static Stream<Arguments> preconditionsTest() {
+        return Stream.of(
+                Arguments.of("GET", "If-None-Match", "\"v1\", W/\"v2\"", 304),
+                Arguments.of("GET", "If-None-Match", "*", 304),
+                Arguments.of("GET", "If-None-Match", "\"v1\"", 200),
+                Arguments.of("GET", "If-Modified-Since", "Sun, 06 Nov 1994 08:49:37 GMT", 304),
+                Arguments.of("GET", "If-Unmodified-Since", "Sun, 06 Nov 1994 08:49:37 GMT", 200),
+                Arguments.of("HEAD", "If-None-Match", "\"v2\"", 304),
+                Arguments.of("PUT", "If-Match", "\"v2\"", 200),
+                Arguments.of("PUT", "If-Match", "W/\"v2\"", 412),
+                Arguments.of("PUT", "If-Match", "\"v1\"", 412),
+                Arguments.of("PUT", "If-None-Match", "*", 412),
+                Arguments.of("PUT", "If-Unmodified-Since", "Sun, 06 Nov 1994 08:49:37 GMT", 200));
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { false, true })
+    public void testIfUnmodifiedSinceWithoutETag(boolean ifMatch) throws ServletException, IOException {
+        AtomicBoolean handled = new AtomicBoolean();
+        HttpServlet servlet = new HttpServlet() {
+            private static final long serialVersionUID = -3086311906153524592L;
+
+            @Override
+            protected long getLastModified(HttpServletRequest req) {
+                // an hour after the If-Unmodified-Since date
+                return 784115377000L;
+            }
+
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
+                handled.set(true);
+            }
+        };
+
+        ServletConfig servletConfig = new MockServletConfig();
+        servlet.init(servletConfig);
+
+        MockHttpServletRequest request = new MockHttpServletRequest(servletConfig.getServletContext()) {
+            @Override
+            public String getMethod() {
+                return "GET";
+            }
+
+            @Override
+            public Enumeration<String> getHeaders(String name) {
+                return Collections.enumeration(ifMatch && name.equals("If-Match") ? Collections.singletonList("\"v1\"")
+                        : Collections.emptyList());
+            }
+
+            @Override
+            public long getDateHeader(String name) {
+                // Sun, 06 Nov 1994 08:49:37 GMT
+                return name.equals("If-Unmodified-Since") ? 784111777000L : -1;
+            }
+        };
+
+        AtomicLong status = new AtomicLong(200);
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public void sendError(int sc) throws IOException {
+                status.set(sc);
+            }
+        };
+
+        servlet.service(request, response);
+
+        // With If-Match, which is left to the servlet, If-Unmodified-Since must not be evaluated
+        assertThat(status.get(), is(ifMatch ? 200L : 412L));
+        assertThat(handled.get(), is(ifMatch));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "complete", "fail", "tooLarge", "timeout" })
+    public void testAsyncHandler(String outcome)
+            throws ServletException, IOException {
+        CompletableFuture<Void> stage = new CompletableFuture<>();
+        HttpServlet servlet = new HttpServlet() {
+            private static final long serialVersionUID = 5811227019356462130L;
+
+            @Override
+            protected CompletionStage<Void> doPostAsync(HttpServletRequest request, HttpServletResponse response) {
+                return stage;
+            }
+        };
+
+        ServletConfig servletConfig = new MockServletConfig();
+        servlet.init(servletConfig);
+
+        AtomicReference<MockAsyncContext> asyncContext = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest(servletConfig.getServletContext()) {
+            @Override
+            public String getMethod() {
+                return "POST";
+            }
+
+            @Override
+            public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+                asyncContext.set(new MockAsyncContext(servletRequest, servletResponse));
+                return asyncContext.get();
+            }
+        };
+
+        AtomicLong status = new AtomicLong(200);
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public void sendError(int sc) throws IOException {
+                status.set(sc);
+            }
+        };
+
+        servlet.service(request, response);
+        assertNotNull(asyncContext.get());
+        assertThat(asyncContext.get().isCompleted(), is(false));
+
+        switch (outcome) {
+        case "complete":
+            stage.complete(null);
+            assertThat(status.get(), is(200L));
+            break;
+        case "fail":
+            stage.completeExceptionally(new IllegalStateException("test"));
+            assertThat(status.get(), is(500L));
+            break;
+        case "tooLarge":
+            stage.completeExceptionally(new CompletionException(new ContentTooLargeException(10)));
+            assertThat(status.get(), is(413L));
+            break;
+        default:
+            asyncContext.get().timeout();
+            assertThat(stage.isCancelled(), is(true));
+            assertThat(status.get(), is(503L));
+            break;
+        }
+        assertThat(asyncContext.get().isCompleted(), is(true));
+    }
+
+    @Test
+    public void testLegacyHeadAsyncHandler()
+            throws ServletException, IOException {
+        CompletableFuture<Void> stage = new CompletableFuture<>();
+        AtomicReference<HttpServletResponse> asyncResponse = new AtomicReference<>();
+        HttpServlet servlet = new HttpServlet() {
+            private static final long serialVersionUID = -1693512874022657140L;
+
+            @Override
+            protected CompletionStage<Void> doGetAsync(HttpServletRequest request, HttpServletResponse response) {
+                asyncResponse.set(response);
+                return stage;
+            }
+        };
+
+        MockServletConfig servletConfig = new MockServletConfig();
+        servletConfig.setInitParameter("jakarta.servlet.http.legacyDoHead", "true");
+        servlet.init(servletConfig);
+
+        AtomicReference<MockAsyncContext> asyncContext = new AtomicReference<>();
+        MockHttpServletRequest request = new MockHttpServletRequest(servletConfig.getServletContext()) {
+            @Override
+            public String getMethod() {
+                return "HEAD";
+            }
+
+            @Override
+            public AsyncContext startAsync(ServletRequest servletRequest, ServletResponse servletResponse) {
+                asyncContext.set(new MockAsyncContext(servletRequest, servletResponse));
+                return asyncContext.get();
+            }
+
+            @Override
+            public boolean isAsyncStarted() {
+                return asyncContext.get() != null;
+            }
+        };
+
+        AtomicLong contentLength = new AtomicLong(-1);
+        MockHttpServletResponse response = new MockHttpServletResponse() {
+            @Override
+            public void setContentLengthLong(long len) {
+                contentLength.set(len);
+            }
+        };
+
+        servlet.service(request, response);
+        assertNotNull(asyncContext.get());
+        // nothing has been counted yet
+        assertThat(contentLength.get(), is(-1L));
+
+        asyncResponse.get().getOutputStream().write(new byte[] { 'h', 'e', 'l', 'l', 'o' });
+        stage.complete(null);
+        assertThat(contentLength.get(), is(5L));
+        assertThat(asyncContext.get().isCompleted(), is(true));
+    }
 }
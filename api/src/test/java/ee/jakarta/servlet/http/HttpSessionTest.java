@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package ee.jakarta.servlet.http;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import ee.jakarta.servlet.MockServletConfig;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.SessionAccess;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.Test;
+
+public class HttpSessionTest {
+
+    @Test
+    public void testComputeAttribute() {
+        MockHttpSession session = new MockHttpSession();
+        assertThat(session.computeAttribute("count", (name, value) -> value == null ? 1 : (Integer) value + 1), is(1));
+        assertThat(session.computeAttribute("count", (name, value) -> value == null ? 1 : (Integer) value + 1), is(2));
+        assertThat(session.getAttribute("count"), is(2));
+
+        Object current = session.getAttribute("count");
+        session.getEvents().clear();
+        assertThat(session.computeAttribute("count", (name, value) -> value), is(current));
+        assertThat(session.getEvents(), empty());
+
+        assertThat(session.computeAttribute("count", (name, value) -> null), nullValue());
+        assertThat(session.getAttribute("count"), nullValue());
+        assertThat(session.getEvents(), contains("remove:count"));
+
+        session.setAttribute("kept", "value");
+        assertThrows(IllegalStateException.class, () -> session.computeAttribute("kept", (name, value) -> {
+            throw new IllegalStateException();
+        }));
+        assertThat(session.getAttribute("kept"), is("value"));
+    }
+
+    @Test
+    public void testComputeAttributeIfAbsent() {
+        MockHttpSession session = new MockHttpSession();
+        assertThat(session.computeAttributeIfAbsent("cart", name -> null), nullValue());
+        assertThat(session.getEvents(), empty());
+
+        assertThat(session.computeAttributeIfAbsent("cart", name -> "new"), is("new"));
+        assertThat(session.computeAttributeIfAbsent("cart", name -> "other"), is("new"));
+        assertThat(session.getEvents(), contains("set:cart"));
+    }
+
+    @Test
+    public void testMergeAttribute() {
+        MockHttpSession session = new MockHttpSession();
+        assertThat(session.mergeAttribute("total", 5, (a, b) -> (Integer) a + (Integer) b), is(5));
+        assertThat(session.mergeAttribute("total", 3, (a, b) -> (Integer) a + (Integer) b), is(8));
+        assertThat(session.mergeAttribute("total", 3, (a, b) -> null), nullValue());
+        assertThat(session.getAttribute("total"), nullValue());
+        assertThrows(NullPointerException.class, () -> session.mergeAttribute("total", null, (a, b) -> a));
+    }
+
+    @Test
+    public void testSetAttributes() {
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("b", "old");
+        session.getEvents().clear();
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("a", 1);
+        attributes.put("b", null);
+        attributes.put("c", 3);
+        session.setAttributes(attributes);
+
+        assertThat(session.getEvents(), contains("set:a", "remove:b", "set:c"));
+        assertThat(session.getAttribute("a"), is(1));
+        assertThat(session.getAttribute("b"), nullValue());
+        assertThat(session.getAttribute("c"), is(3));
+    }
+
+    @Test
+    public void testDirtyAttributes() {
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("cart", "items");
+        session.getEvents().clear();
+
+        session.markAttributeDirty("cart");
+        session.markAttributeDirty("missing");
+        assertThat(session.getEvents(), empty());
+        assertThat(session.getDirtyAttributeNames(), empty());
+        assertThrows(UnsupportedOperationException.class, () -> session.getDirtyAttributeNames().add("cart"));
+    }
+
+    @Test
+    public void testAccessAsync() {
+        MockHttpSession session = new MockHttpSession();
+        HttpSession.Accessor accessor = consumer -> consumer.accept(session);
+
+        CompletableFuture<Object> count = accessor
+                .accessAsync(s -> s.computeAttribute("count", (name, value) -> value == null ? 1 : (Integer) value + 1))
+                .toCompletableFuture();
+        assertThat(count.join(), is(1));
+        assertThat(session.getAttribute("count"), is(1));
+
+        CompletableFuture<Object> failed = accessor.accessAsync(s -> {
+            throw new IllegalArgumentException();
+        }).toCompletableFuture();
+        CompletionException e = assertThrows(CompletionException.class, failed::join);
+        assertEquals(IllegalArgumentException.class, e.getCause().getClass());
+
+        HttpSession.Accessor invalid = consumer -> {
+            throw new IllegalStateException();
+        };
+        e = assertThrows(CompletionException.class, invalid.accessAsync(s -> "unused").toCompletableFuture()::join);
+        assertEquals(IllegalStateException.class, e.getCause().getClass());
+
+        // a failure to store the session after the function has returned is not lost
+        HttpSession.Accessor unstored = consumer -> {
+            consumer.accept(session);
+            throw new IllegalStateException();
+        };
+        CompletableFuture<String> lost = unstored.accessAsync(s -> "unused").toCompletableFuture();
+        e = assertThrows(CompletionException.class, lost::join);
+        assertEquals(IllegalStateException.class, e.getCause().getClass());
+    }
+
+    @Test
+    public void testReadOnlySession() {
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("user", "alice");
+        HttpSession[] current = { null };
+        HttpServletRequest request = new HttpServletRequestWrapper(
+                new MockHttpServletRequest(new MockServletConfig().getServletContext()) {
+                    @Override
+                    public HttpSession getSession(boolean create) {
+                        return current[0];
+                    }
+                });
+
+        assertThat(request.getSession(SessionAccess.READ_ONLY), nullValue());
+        assertThat(request.getSession(SessionAccess.READ_WRITE), nullValue());
+
+        current[0] = session;
+        assertSame(session, request.getSession(SessionAccess.READ_WRITE));
+        HttpSession readOnly = request.getSession(SessionAccess.READ_ONLY);
+        assertThat(readOnly.getId(), is("mock"));
+        assertThat(readOnly.getAttribute("user"), is("alice"));
+        assertThat(Collections.list(readOnly.getAttributeNames()), contains("user"));
+        assertThat(readOnly.getDirtyAttributeNames(), empty());
+
+        assertThrows(UnsupportedOperationException.class, () -> readOnly.setAttribute("user", "bob"));
+        assertThrows(UnsupportedOperationException.class, () -> readOnly.removeAttribute("user"));
+        assertThrows(UnsupportedOperationException.class, () -> readOnly.computeAttribute("user", (n, v) -> v));
+        assertThrows(UnsupportedOperationException.class, () -> readOnly.setAttributes(Collections.emptyMap()));
+        assertThrows(UnsupportedOperationException.class, () -> readOnly.markAttributeDirty("user"));
+        assertThrows(UnsupportedOperationException.class, readOnly::invalidate);
+        assertThat(session.getAttribute("user"), is("alice"));
+        assertThat(readOnly.getAccessor(), nullValue());
+        assertThrows(NullPointerException.class, () -> request.getSession(null));
+    }
+
+    @Test
+    public void testReadOnlySessionWrapper() {
+        MockHttpSession replaced = new MockHttpSession();
+        replaced.setAttribute("user", "alice");
+        // a wrapper replacing the session of the container
+        HttpServletRequest request = new HttpServletRequestWrapper(
+                new MockHttpServletRequest(new MockServletConfig().getServletContext()) {
+                    @Override
+                    public HttpSession getSession(boolean create) {
+                        return new MockHttpSession();
+                    }
+                }) {
+            @Override
+            public HttpSession getSession(boolean create) {
+                return replaced;
+            }
+        };
+
+        assertSame(replaced, request.getSession(SessionAccess.READ_WRITE));
+        assertThat(request.getSession(SessionAccess.READ_ONLY).getAttribute("user"), is("alice"));
+    }
+
+    @Test
+    public void testReadOnlySessionAccessor() {
+        MockHttpSession session = new MockHttpSession() {
+            @Override
+            public Accessor getAccessor() {
+                return consumer -> consumer.accept(this);
+            }
+        };
+        session.setAttribute("user", "alice");
+        HttpServletRequest request = new MockHttpServletRequest(new MockServletConfig().getServletContext()) {
+            @Override
+            public HttpSession getSession(boolean create) {
+                return session;
+            }
+        };
+        HttpSession.Accessor accessor = request.getSession(SessionAccess.READ_ONLY).getAccessor();
+
+        accessor.access(s -> {
+            assertThat(s.getAttribute("user"), is("alice"));
+            assertThrows(UnsupportedOperationException.class, () -> s.setAttribute("user", "bob"));
+        });
+        CompletableFuture<Object> removed = accessor.accessAsync(s -> s.computeAttribute("user", (n, v) -> null))
+                .toCompletableFuture();
+        CompletionException e = assertThrows(CompletionException.class, removed::join);
+        assertEquals(UnsupportedOperationException.class, e.getCause().getClass());
+        assertThat(session.getAttribute("user"), is("alice"));
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package ee.jakarta.servlet.http;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import jakarta.servlet.http.HttpSyntax;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class HttpSyntaxTest {
+
+    private static final String SEPARATORS = "/()<>@,;:\\\"[]?={} \t";
+
+    @Test
+    public void testTokenChars() {
+        for (char c = 0; c < 0x200; c++) {
+            boolean expected = c > 0x20 && c < 0x7f && SEPARATORS.indexOf(c) < 0;
+            assertThat(Integer.toHexString(c), HttpSyntax.isTokenChar(c), is(expected));
+        }
+    }
+
+    @Test
+    public void testCookieOctets() {
+        for (char c = 0; c < 0x200; c++) {
+            boolean expected = c > 0x20 && c < 0x7f && c != '"' && c != ',' && c != ';' && c != '\\';
+            assertThat(Integer.toHexString(c), HttpSyntax.isCookieOctet(c), is(expected));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "Content-Type", "x", "!#$%&'*+-.^_`|~09azAZ" })
+    public void testToken(String value) {
+        assertThat(HttpSyntax.isToken(value), is(true));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "a b", "a:b", "aé", "aĀ", "a\u007f" })
+    public void testNotToken(String value) {
+        assertThat(HttpSyntax.isToken(value), is(false));
+    }
+
+    @Test
+    public void testCookieValue() {
+        assertThat(HttpSyntax.isCookieValue(""), is(true));
+        assertThat(HttpSyntax.isCookieValue("abc123!#"), is(true));
+        assertThat(HttpSyntax.isCookieValue("\"abc\""), is(true));
+        assertThat(HttpSyntax.isCookieValue("\"\""), is(true));
+        assertThat(HttpSyntax.isCookieValue("\""), is(false));
+        assertThat(HttpSyntax.isCookieValue("\"abc"), is(false));
+        assertThat(HttpSyntax.isCookieValue("a\"b"), is(false));
+        assertThat(HttpSyntax.isCookieValue("a b"), is(false));
+        assertThat(HttpSyntax.isCookieValue("a;b"), is(false));
+    }
+
+    @Test
+    public void testFieldValue() {
+        assertThat(HttpSyntax.isFieldValue(""), is(true));
+        assertThat(HttpSyntax.isFieldValue("text/html; charset=\"utf-8\""), is(true));
+        assertThat(HttpSyntax.isFieldValue("a\tbÿ"), is(true));
+        assertThat(HttpSyntax.isFieldValue("a\r\nb"), is(false));
+        assertThat(HttpSyntax.isFieldValue("a\u0000"), is(false));
+        assertThat(HttpSyntax.isFieldValue("a\u007f"), is(false));
+        assertThat(HttpSyntax.isFieldValue("aĀ"), is(false));
+    }
+}
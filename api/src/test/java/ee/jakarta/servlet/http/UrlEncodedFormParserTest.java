@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+
+package ee.jakarta.servlet.http;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import ee.jakarta.servlet.MockServletConfig;
+import ee.jakarta.servlet.MockServletInputStream;
+import jakarta.servlet.ContentTooLargeException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.UrlEncodedFormParser;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.Test;
+
+public class UrlEncodedFormParserTest {
+
+    @Test
+    public void testParseSplit() throws IOException {
+        byte[] content = "a=1&b=%C3%A9t%C3%A9&a=2+3&&empty=&flag&eq=x%3Dy=z".getBytes(StandardCharsets.ISO_8859_1);
+
+        // every split of the content gives the same parameters
+        for (int split = 0; split <= content.length; split++) {
+            UrlEncodedFormParser parser = new UrlEncodedFormParser(StandardCharsets.UTF_8);
+            parser.parse(ByteBuffer.wrap(content, 0, split));
+            parser.parse(ByteBuffer.wrap(content, split, content.length - split));
+            Map<String, List<String>> parameters = parser.finish();
+
+            assertThat(parameters.keySet(), contains("a", "b", "empty", "flag", "eq"));
+            assertThat(parameters.get("a"), contains("1", "2 3"));
+            assertThat(parameters.get("b"), contains("été"));
+            assertThat(parameters.get("empty"), contains(""));
+            assertThat(parameters.get("flag"), contains(""));
+            assertThat(parameters.get("eq"), contains("x=y=z"));
+        }
+    }
+
+    @Test
+    public void testParseInvalid() throws IOException {
+        assertThrows(IllegalArgumentException.class,
+                () -> new UrlEncodedFormParser(StandardCharsets.UTF_8).parse(ByteBuffer.wrap(new byte[] { '%', 'x', '1' })));
+
+        UrlEncodedFormParser incomplete = new UrlEncodedFormParser(StandardCharsets.UTF_8);
+        incomplete.parse(ByteBuffer.wrap(new byte[] { 'a', '=', '%', '4' }));
+        assertThrows(IllegalArgumentException.class, incomplete::finish);
+
+        UrlEncodedFormParser limited = new UrlEncodedFormParser(StandardCharsets.UTF_8, 4);
+        limited.parse(ByteBuffer.wrap(new byte[] { 'a', '=', '1' }));
+        assertThrows(ContentTooLargeException.class, () -> limited.parse(ByteBuffer.wrap(new byte[] { '&', 'b' })));
+    }
+
+    @Test
+    public void testReadParametersAsync() throws Exception {
+        MockServletInputStream in = new MockServletInputStream("b=2&a=3".getBytes(StandardCharsets.ISO_8859_1));
+        HttpServletRequest request = new MockHttpServletRequest(new MockServletConfig().getServletContext()) {
+            @Override
+            public String getMethod() {
+                return "POST";
+            }
+
+            @Override
+            public String getContentType() {
+                return "application/x-www-form-urlencoded; charset=UTF-8";
+            }
+
+            @Override
+            public String getQueryString() {
+                return "a=1";
+            }
+
+            @Override
+            public ServletInputStream getInputStream() {
+                return in;
+            }
+
+            @Override
+            public String getParameter(String name) {
+                throw new IllegalStateException("blocking");
+            }
+        };
+
+        CompletableFuture<HttpServletRequest> read = UrlEncodedFormParser.readParametersAsync(request, 1024)
+                .toCompletableFuture();
+        assertThat(read.isDone(), is(false));
+        in.getReadListener().onDataAvailable();
+
+        HttpServletRequest parsed = read.getNow(null);
+        assertThat(parsed.getParameter("a"), is("1"));
+        assertArrayEquals(new String[] { "1", "3" }, parsed.getParameterValues("a"));
+        assertThat(parsed.getParameter("b"), is("2"));
+        assertThat(parsed.getParameter("c"), nullValue());
+        assertThat(parsed.getParameterMap().keySet(), contains("a", "b"));
+        assertThat(parsed.getParameter("a", 1), is("3"));
+        assertThat(parsed.getParameter("a", 2), nullValue());
+        assertThat(parsed.getParameterCount("a"), is(2));
+        assertThat(parsed.getParameterCount("c"), is(0));
+        List<String> visited = new ArrayList<>();
+        parsed.forEachParameter((name, values) -> visited.add(name + values));
+        assertThat(visited, contains("a[1, 3]", "b[2]"));
+    }
+}
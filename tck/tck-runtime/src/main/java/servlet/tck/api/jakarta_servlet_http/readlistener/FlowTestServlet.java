@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v. 2.0, which is available at
+ * http://www.eclipse.org/legal/epl-2.0.
+ *
+ * This Source Code may also be made available under the following Secondary
+ * Licenses when the conditions for such availability set forth in the
+ * Eclipse Public License v. 2.0 are satisfied: GNU General Public License,
+ * version 2 with the GNU Classpath Exception, which is available at
+ * https://www.gnu.org/software/classpath/license.html.
+ *
+ * SPDX-License-Identifier: EPL-2.0 OR GPL-2.0 WITH Classpath-exception-2.0
+ */
+package servlet.tck.api.jakarta_servlet_http.readlistener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Flow;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@WebServlet(value = "/FlowTestServlet", asyncSupported = true)
+public class FlowTestServlet extends HttpServlet {
+
+  public void doPost(HttpServletRequest request, HttpServletResponse response)
+      throws ServletException, IOException {
+
+    AsyncContext ac = request.startAsync();
+    ServletOutputStream output = response.getOutputStream();
+    request.getInputStream().asPublisher(2)
+        .subscribe(new Flow.Subscriber<ByteBuffer>() {
+
+          private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+          private Flow.Subscription subscription;
+
+          public void onSubscribe(Flow.Subscription s) {
+            subscription = s;
+            subscription.request(1);
+          }
+
+          public void onNext(ByteBuffer buffer) {
+            if (buffer.remaining() > 2) {
+              subscription.cancel();
+              onError(new IllegalStateException("Buffer too large"));
+              return;
+            }
+            while (buffer.hasRemaining()) {
+              content.write(buffer.get());
+            }
+            subscription.request(1);
+          }
+
+          public void onError(Throwable t) {
+            try {
+              output.print("=onError");
+            } catch (IOException ex) {
+              t.addSuppressed(ex);
+            }
+            ac.complete();
+            t.printStackTrace();
+          }
+
+          public void onComplete() {
+            try {
+              output.print("=" + content + "=onComplete");
+            } catch (IOException ex) {
+              throw new IllegalStateException(ex);
+            } finally {
+              ac.complete();
+            }
+          }
+        });
+  }
+}
@@ -48,7 +48,7 @@ public class ReadListenerTests extends AbstractTckTest {
   @Deployment(testable = false)
   public static WebArchive getTestArchive() throws Exception {
     return ShrinkWrap.create(WebArchive.class, "servlet_jsh_readlistener.war")
-            .addClasses(TestServlet.class, TestListener.class);
+            .addClasses(TestServlet.class, TestListener.class, FlowTestServlet.class);
   }
 
 
@@ -155,4 +155,65 @@ public class ReadListenerTests extends AbstractTckTest {
       throw new Exception("Test Failed.");
     }
   }
+
+  /*
+   * @testName: flowPublisherTest
+   *
+   * @test_Strategy: Create a Servlet FlowTestServlet which supports async;
+   * Subscribe to the ServletInputStream as a Flow.Publisher of small buffers,
+   * requesting one buffer at a time; From Client, sends two batch of messages
+   * use stream; Verify all message received in order; Verify the subscriber
+   * is completed at the end of the stream
+   */
+  @Test
+  public void flowPublisherTest() throws Exception {
+    setServletName("FlowTestServlet");
+    int sleepInSeconds = Integer
+        .parseInt(_props.getProperty("servlet_async_wait").trim());
+    boolean passed = true;
+
+    String EXPECTED_RESPONSE = "=HelloWorld=onComplete";
+
+    String requestUrl = getContextRoot() + "/" + getServletName();
+
+    try {
+      URL url = getURL("http", _hostname, _port, requestUrl.substring(1));
+
+      HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+      logger.debug("Connecting {}", url.toExternalForm());
+      conn.setRequestProperty("Content-type", "text/plain; charset=utf-8");
+      conn.setChunkedStreamingMode(5);
+      conn.setRequestMethod("POST");
+      conn.setDoOutput(true);
+      conn.connect();
+
+      try (BufferedWriter output = new BufferedWriter(
+          new OutputStreamWriter(conn.getOutputStream()))) {
+        output.write("Hello");
+        output.flush();
+        Thread.sleep(sleepInSeconds * 1000);
+        output.write("World");
+      }
+
+      try (BufferedReader input = new BufferedReader(
+          new InputStreamReader(conn.getInputStream()))) {
+        String line;
+        StringBuilder message_received = new StringBuilder();
+
+        while ((line = input.readLine()) != null) {
+          logger.debug("======= message received: {}", line);
+          message_received.append(line);
+        }
+        passed = ServletTestUtil.compareString(EXPECTED_RESPONSE,
+            message_received.toString());
+      }
+    } catch (Exception ex) {
+      passed = false;
+      logger.error("Test" + ex.getMessage(), ex);
+    }
+
+    if (!passed) {
+      throw new Exception("Test Failed.");
+    }
+  }
 }
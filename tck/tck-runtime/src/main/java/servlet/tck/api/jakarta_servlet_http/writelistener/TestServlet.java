@@ -20,6 +20,11 @@
 package servlet.tck.api.jakarta_servlet_http.writelistener;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import servlet.tck.common.servlets.HttpTCKServlet;
 
@@ -43,4 +48,76 @@ public class TestServlet extends HttpTCKServlet {
     TestListener writeListener = new TestListener(output, ac);
     output.setWriteListener(writeListener);
   }
+
+  public void flowSubscriberTest(HttpServletRequest request,
+      HttpServletResponse response) throws ServletException, IOException {
+
+    AsyncContext ac = request.startAsync();
+    ServletOutputStream output = response.getOutputStream();
+    output.writeFrom(new ChunkPublisher(CHUNKS)).whenComplete((v, t) -> {
+      if (t != null) {
+        t.printStackTrace();
+      }
+      ac.complete();
+    });
+  }
+
+  static final int CHUNKS = 64;
+
+  static final int CHUNK_SIZE = 16384;
+
+  static String chunk(int i) {
+    StringBuilder chunk = new StringBuilder(CHUNK_SIZE).append("=onNext")
+        .append(i);
+    while (chunk.length() < CHUNK_SIZE) {
+      chunk.append(' ');
+    }
+    return chunk.toString();
+  }
+
+  /*
+   * Publishes the chunks only as requested, without recursing when the
+   * subscriber requests more from within onNext.
+   */
+  private static class ChunkPublisher implements Flow.Publisher<ByteBuffer> {
+
+    private final int chunks;
+
+    ChunkPublisher(int chunks) {
+      this.chunks = chunks;
+    }
+
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+      AtomicLong demand = new AtomicLong();
+      AtomicInteger work = new AtomicInteger();
+      subscriber.onSubscribe(new Flow.Subscription() {
+
+        private int next;
+
+        private volatile boolean done;
+
+        public void request(long n) {
+          demand.addAndGet(n);
+          if (work.getAndIncrement() != 0) {
+            return;
+          }
+          do {
+            while (!done && next < chunks && demand.get() > 0) {
+              demand.decrementAndGet();
+              subscriber.onNext(ByteBuffer
+                  .wrap(chunk(next++).getBytes(StandardCharsets.ISO_8859_1)));
+            }
+            if (!done && next == chunks) {
+              done = true;
+              subscriber.onComplete();
+            }
+          } while (work.decrementAndGet() != 0);
+        }
+
+        public void cancel() {
+          done = true;
+        }
+      });
+    }
+  }
 }
@@ -104,4 +104,57 @@ public class WriteListenerTests extends AbstractTckTest {
       throw new Exception("Test Failed.");
     }
   }
+
+  /*
+   * @testName: flowSubscriberTest
+   *
+   * @test_Strategy: Create a Servlet TestServlet which supports async; From
+   * Servlet, write a Flow.Publisher of large chunks with
+   * ServletOutputStream.writeFrom, which requests each chunk once the previous
+   * one has been written; Verify all chunks are received by client in order
+   */
+  @Test
+  public void flowSubscriberTest() throws Exception {
+    boolean passed = true;
+    String testName = "flowSubscriberTest";
+    StringBuilder EXPECTED_RESPONSE = new StringBuilder();
+    for (int i = 0; i < TestServlet.CHUNKS; i++) {
+      if (i > 0) {
+        EXPECTED_RESPONSE.append('|');
+      }
+      EXPECTED_RESPONSE.append("=onNext").append(i).append(' ');
+    }
+    int expectedLength = TestServlet.CHUNKS * TestServlet.CHUNK_SIZE;
+
+    String requestUrl = getContextRoot() + "/" + getServletName() + "?testname="
+        + testName;
+
+    URL url = new URL(getURLString("http", _hostname, _port, requestUrl.substring(1)));
+    try {
+      HttpURLConnection conn = (HttpURLConnection) url.openConnection();
+      logger.debug("======= Connecting {}", url.toExternalForm());
+      conn.connect();
+
+      try (BufferedReader input = new BufferedReader(
+              new InputStreamReader(conn.getInputStream()))) {
+        String line = null;
+        StringBuilder message_received = new StringBuilder();
+
+        while ((line = input.readLine()) != null) {
+          message_received.append(line);
+        }
+        logger.debug("======= message received length: {}", message_received.length());
+        passed = message_received.length() == expectedLength
+            && ServletTestUtil.compareString(EXPECTED_RESPONSE.toString(),
+                message_received.toString());
+      }
+    } catch (Exception ex) {
+      passed = false;
+      logger.error("Test" + ex.getMessage(), ex);
+    }
+
+    if (!passed) {
+      throw new Exception("Test Failed.");
+    }
+  }
 }